@@ -24,6 +24,9 @@
 package appeng.api.networking;
 
 
+import java.util.Collection;
+
+
 /**
  * Allows you to create a network wise service, AE2 uses these for providing
  * item, spatial, and tunnel services.
@@ -64,6 +67,40 @@ public interface IGridCache
 	 */
 	void addNode( IGridNode gridNode, IGridHost machine );
 
+	/**
+	 * inform your cache, that a group of machines was removed from the grid at
+	 * once, this happens when a grid splits or merges into another one.
+	 *
+	 * The default implementation calls {@link #removeNode(IGridNode, IGridHost)}
+	 * for each node, override it if your cache can update once for all of them.
+	 *
+	 * @param gridNodes removed from that grid
+	 */
+	default void removeNodes( Collection<IGridNode> gridNodes )
+	{
+		for( final IGridNode gridNode : gridNodes )
+		{
+			this.removeNode( gridNode, gridNode.getMachine() );
+		}
+	}
+
+	/**
+	 * informs your cache that a group of machines was added to the grid at
+	 * once, this happens when a grid splits or merges into another one.
+	 *
+	 * The default implementation calls {@link #addNode(IGridNode, IGridHost)}
+	 * for each node, override it if your cache can update once for all of them.
+	 *
+	 * @param gridNodes added to the grid
+	 */
+	default void addNodes( Collection<IGridNode> gridNodes )
+	{
+		for( final IGridNode gridNode : gridNodes )
+		{
+			this.addNode( gridNode, gridNode.getMachine() );
+		}
+	}
+
 	/**
 	 * Called when a grid splits into two grids, AE will call a split as it
 	 * Iteratively processes changes. The destination should receive half, and
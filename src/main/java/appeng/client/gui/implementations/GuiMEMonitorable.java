@@ -473,6 +473,14 @@ public class GuiMEMonitorable extends AEBaseMEGui implements ISortSource, IConfi
 	public void updateScreen()
 	{
 		this.repo.setPower( this.monitorableContainer.isPowered() );
+
+		// show the rest of the items once the repo indexed them.
+		if( this.repo.isIndexing() )
+		{
+			this.repo.updateView();
+			this.setScrollBar();
+		}
+
 		super.updateScreen();
 	}
 
@@ -227,6 +227,19 @@ public class GuiNetworkStatus extends AEBaseGui implements ISortSource
 		this.setScrollBar();
 	}
 
+	@Override
+	public void updateScreen()
+	{
+		// show the rest of the items once the repo indexed them.
+		if( this.repo.isIndexing() )
+		{
+			this.repo.updateView();
+			this.setScrollBar();
+		}
+
+		super.updateScreen();
+	}
+
 	private void setScrollBar()
 	{
 		final int size = this.repo.size();
@@ -21,6 +21,7 @@ package appeng.client.me;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 
@@ -29,6 +30,7 @@ import net.minecraft.item.ItemStack;
 import appeng.api.AEApi;
 import appeng.api.config.SearchBoxMode;
 import appeng.api.config.Settings;
+import appeng.api.config.SortDir;
 import appeng.api.config.SortOrder;
 import appeng.api.config.ViewItems;
 import appeng.api.config.YesNo;
@@ -36,11 +38,11 @@ import appeng.api.storage.data.IAEItemStack;
 import appeng.api.storage.data.IItemList;
 import appeng.client.gui.widgets.IScrollSource;
 import appeng.client.gui.widgets.ISortSource;
+import appeng.client.me.ItemSearchIndex.Entry;
 import appeng.core.AEConfig;
 import appeng.integration.modules.JEI;
 import appeng.items.storage.ItemViewCell;
 import appeng.util.ItemSorters;
-import appeng.util.Platform;
 import appeng.util.prioitylist.IPartitionList;
 
 
@@ -48,6 +50,7 @@ public class ItemRepo
 {
 
 	private final IItemList<IAEItemStack> list = AEApi.instance().storage().createItemList();
+	private final ItemSearchIndex index = new ItemSearchIndex();
 	private final ArrayList<IAEItemStack> view = new ArrayList<IAEItemStack>();
 	private final ArrayList<ItemStack> dsp = new ArrayList<ItemStack>();
 	private final IScrollSource src;
@@ -106,9 +109,18 @@ public class ItemRepo
 		else
 		{
 			this.list.add( is );
+			this.index.add( this.list.findPrecise( is ) );
 		}
 	}
 
+	/**
+	 * @return true while new items are still being indexed, the view has to be updated again until it is done.
+	 */
+	public boolean isIndexing()
+	{
+		return this.index.isIndexing();
+	}
+
 	public void setViewCell( final ItemStack[] list )
 	{
 		this.myPartitionList = ItemViewCell.createFilter( list );
@@ -141,25 +153,13 @@ public class ItemRepo
 			this.innerSearch = this.innerSearch.substring( 1 );
 		}
 
-		Pattern m = null;
-		try
-		{
-			m = Pattern.compile( this.innerSearch.toLowerCase(), Pattern.CASE_INSENSITIVE );
-		}
-		catch( final Throwable ignore )
-		{
-			try
-			{
-				m = Pattern.compile( Pattern.quote( this.innerSearch.toLowerCase() ), Pattern.CASE_INSENSITIVE );
-			}
-			catch( final Throwable __ )
-			{
-				return;
-			}
-		}
+		final String search = this.innerSearch.toLowerCase();
+		final Pattern m = ItemSearchIndex.compile( search );
+		final ArrayList<Entry> matched = new ArrayList<Entry>();
+
+		this.index.update();
 
-		boolean notDone = false;
-		for( IAEItemStack is : this.list )
+		for( final IAEItemStack is : this.list )
 		{
 			if( this.myPartitionList != null )
 			{
@@ -174,70 +174,76 @@ public class ItemRepo
 				continue;
 			}
 
-			if( viewMode == ViewItems.CRAFTABLE )
+			if( viewMode == ViewItems.STORED && is.getStackSize() == 0 )
 			{
-				is = is.copy();
-				is.setStackSize( 0 );
+				continue;
 			}
 
-			if( viewMode == ViewItems.STORED && is.getStackSize() == 0 )
+			// not indexed yet, shown once the index caught up.
+			final Entry entry = this.index.get( is );
+			if( entry == null )
 			{
 				continue;
 			}
 
-			final String dspName = searchMod ? Platform.getModId( is ) : Platform.getItemDisplayName( is );
-			notDone = true;
-
-			if( m.matcher( dspName.toLowerCase() ).find() )
+			if( ItemSearchIndex.matches( searchMod ? entry.getLowerModId() : entry.getLowerName(), search, m ) )
 			{
-				this.view.add( is );
-				notDone = false;
+				matched.add( entry );
 			}
-
-			if( terminalSearchToolTips && notDone )
+			else if( terminalSearchToolTips )
 			{
-				for( final Object lp : Platform.getTooltip( is ) )
+				for( final String line : entry.getLowerTooltip() )
 				{
-					if( lp instanceof String && m.matcher( (CharSequence) lp ).find() )
+					if( ItemSearchIndex.matches( line, search, m ) )
 					{
-						this.view.add( is );
-						notDone = false;
+						matched.add( entry );
 						break;
 					}
 				}
 			}
-
-			/*
-			 * if ( terminalSearchMods && notDone ) { if ( m.matcher( Platform.getMod( is.getItemStack() ) ).find() ) {
-			 * view.add( is ); notDone = false; } }
-			 */
 		}
 
 		final Enum SortBy = this.sortSrc.getSortBy();
-		final Enum SortDir = this.sortSrc.getSortDir();
+		final SortDir sortDir = (SortDir) this.sortSrc.getSortDir();
 
-		ItemSorters.setDirection( (appeng.api.config.SortDir) SortDir );
+		ItemSorters.setDirection( sortDir );
 		ItemSorters.init();
 
+		final Comparator<Entry> comparator;
 		if( SortBy == SortOrder.MOD )
 		{
-			Collections.sort( this.view, ItemSorters.CONFIG_BASED_SORT_BY_MOD );
+			comparator = ItemSearchIndex.byMod( sortDir );
 		}
 		else if( SortBy == SortOrder.AMOUNT )
 		{
-			Collections.sort( this.view, ItemSorters.CONFIG_BASED_SORT_BY_SIZE );
+			// craftable items are all shown without an amount.
+			comparator = viewMode == ViewItems.CRAFTABLE ? null : ItemSearchIndex.byAmount( sortDir );
 		}
 		else if( SortBy == SortOrder.INVTWEAKS )
 		{
-			Collections.sort( this.view, ItemSorters.CONFIG_BASED_SORT_BY_INV_TWEAKS );
+			comparator = ItemSearchIndex.byInvTweaks();
 		}
 		else
 		{
-			Collections.sort( this.view, ItemSorters.CONFIG_BASED_SORT_BY_NAME );
+			comparator = ItemSearchIndex.byName( sortDir );
+		}
+
+		if( comparator != null )
+		{
+			Collections.sort( matched, comparator );
 		}
 
-		for( final IAEItemStack is : this.view )
+		for( final Entry entry : matched )
 		{
+			IAEItemStack is = entry.getStack();
+
+			if( viewMode == ViewItems.CRAFTABLE )
+			{
+				is = is.copy();
+				is.setStackSize( 0 );
+			}
+
+			this.view.add( is );
 			this.dsp.add( is.getItemStack() );
 		}
 	}
@@ -0,0 +1,276 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.client.me;
+
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import appeng.api.config.SortDir;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.util.ItemSorters;
+import appeng.util.Platform;
+
+
+/**
+ * Search and sort keys of the items known to an {@link ItemRepo}.
+ *
+ * Names, mod ids and tooltips only depend on the item, so they are looked up and lowercased once per item instead of
+ * on every update of the view. New items are indexed within a time budget per update, until the index caught up the
+ * view only contains the items indexed so far.
+ */
+final class ItemSearchIndex
+{
+
+	private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos( 20 );
+	private static final String REGEX_CHARS = "\\^$.|?*+()[]{}";
+
+	private final Map<IAEItemStack, Entry> entries = new HashMap<IAEItemStack, Entry>();
+	private final Queue<IAEItemStack> pending = new LinkedList<IAEItemStack>();
+
+	/**
+	 * @param record a new item of the repo, which stays the same object until the repo drops it again
+	 */
+	void add( final IAEItemStack record )
+	{
+		final Entry entry = this.entries.get( record );
+
+		if( entry != null )
+		{
+			// known item, which the repo dropped while it was empty.
+			entry.stack = record;
+		}
+		else
+		{
+			this.pending.add( record );
+		}
+	}
+
+	/**
+	 * @return the keys of the item, or null if it isn't indexed yet
+	 */
+	Entry get( final IAEItemStack record )
+	{
+		final Entry entry = this.entries.get( record );
+
+		return entry != null && entry.stack == record ? entry : null;
+	}
+
+	boolean isIndexing()
+	{
+		return !this.pending.isEmpty();
+	}
+
+	/**
+	 * Indexes pending items until the budget of this update is used up.
+	 */
+	void update()
+	{
+		final long start = System.nanoTime();
+
+		IAEItemStack record;
+		while( ( record = this.pending.poll() ) != null )
+		{
+			this.entries.put( record, new Entry( record ) );
+
+			if( System.nanoTime() - start > BUDGET )
+			{
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @param search lowercase search string
+	 *
+	 * @return null if the search is a plain substring, otherwise the pattern to match with
+	 */
+	static Pattern compile( final String search )
+	{
+		boolean literal = true;
+		for( int x = 0; x < search.length() && literal; x++ )
+		{
+			literal = REGEX_CHARS.indexOf( search.charAt( x ) ) < 0;
+		}
+
+		if( literal )
+		{
+			return null;
+		}
+
+		try
+		{
+			return Pattern.compile( search, Pattern.CASE_INSENSITIVE );
+		}
+		catch( final Throwable ignore )
+		{
+			return Pattern.compile( Pattern.quote( search ), Pattern.CASE_INSENSITIVE );
+		}
+	}
+
+	static boolean matches( final String text, final String search, final Pattern pattern )
+	{
+		if( pattern == null )
+		{
+			return text.contains( search );
+		}
+
+		return pattern.matcher( text ).find();
+	}
+
+	static Comparator<Entry> byName( final SortDir dir )
+	{
+		return new Comparator<Entry>(){
+
+			@Override
+			public int compare( final Entry o1, final Entry o2 )
+			{
+				if( dir == SortDir.ASCENDING )
+				{
+					return o1.name.compareToIgnoreCase( o2.name );
+				}
+				return o2.name.compareToIgnoreCase( o1.name );
+			}
+		};
+	}
+
+	/**
+	 * same order as {@link ItemSorters#CONFIG_BASED_SORT_BY_MOD}.
+	 */
+	static Comparator<Entry> byMod( final SortDir dir )
+	{
+		return new Comparator<Entry>(){
+
+			@Override
+			public int compare( final Entry o1, final Entry o2 )
+			{
+				if( dir == SortDir.ASCENDING )
+				{
+					return this.secondarySort( o2.modId.compareToIgnoreCase( o1.modId ), o1, o2 );
+				}
+				return this.secondarySort( o1.modId.compareToIgnoreCase( o2.modId ), o2, o1 );
+			}
+
+			private int secondarySort( final int compareToIgnoreCase, final Entry o1, final Entry o2 )
+			{
+				if( compareToIgnoreCase == 0 )
+				{
+					return o2.name.compareToIgnoreCase( o1.name );
+				}
+
+				return compareToIgnoreCase;
+			}
+		};
+	}
+
+	static Comparator<Entry> byAmount( final SortDir dir )
+	{
+		return new Comparator<Entry>(){
+
+			@Override
+			public int compare( final Entry o1, final Entry o2 )
+			{
+				if( dir == SortDir.ASCENDING )
+				{
+					return ItemSorters.compareLong( o2.stack.getStackSize(), o1.stack.getStackSize() );
+				}
+				return ItemSorters.compareLong( o1.stack.getStackSize(), o2.stack.getStackSize() );
+			}
+		};
+	}
+
+	static Comparator<Entry> byInvTweaks()
+	{
+		return new Comparator<Entry>(){
+
+			@Override
+			public int compare( final Entry o1, final Entry o2 )
+			{
+				return ItemSorters.CONFIG_BASED_SORT_BY_INV_TWEAKS.compare( o1.stack, o2.stack );
+			}
+		};
+	}
+
+	static final class Entry
+	{
+
+		private IAEItemStack stack;
+		private final String name;
+		private final String modId;
+		private final String lowerName;
+		private final String lowerModId;
+		private String[] lowerTooltip;
+
+		private Entry( final IAEItemStack stack )
+		{
+			this.stack = stack;
+			this.name = Platform.getItemDisplayName( stack );
+			this.modId = Platform.getModId( stack );
+			this.lowerName = this.name.toLowerCase();
+			this.lowerModId = this.modId.toLowerCase();
+		}
+
+		IAEItemStack getStack()
+		{
+			return this.stack;
+		}
+
+		String getLowerName()
+		{
+			return this.lowerName;
+		}
+
+		String getLowerModId()
+		{
+			return this.lowerModId;
+		}
+
+		/**
+		 * tooltips are the most expensive part, they are only looked up by the first search needing them.
+		 */
+		String[] getLowerTooltip()
+		{
+			if( this.lowerTooltip == null )
+			{
+				final List<?> lines = Platform.getTooltip( this.stack );
+				int size = 0;
+				final String[] tooltip = new String[lines.size()];
+
+				for( final Object line : lines )
+				{
+					if( line instanceof String )
+					{
+						tooltip[size++] = ( (String) line ).toLowerCase();
+					}
+				}
+
+				this.lowerTooltip = size == tooltip.length ? tooltip : Arrays.copyOf( tooltip, size );
+			}
+
+			return this.lowerTooltip;
+		}
+	}
+}
@@ -21,6 +21,11 @@ package appeng.container.implementations;
 
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.annotation.Nonnull;
 
@@ -74,6 +79,12 @@ import appeng.util.Platform;
 public class ContainerMEMonitorable extends AEBaseContainer implements IConfigManagerHost, IConfigurableObject, IMEMonitorHandlerReceiver<IAEItemStack>
 {
 
+	/**
+	 * The last inventory update encoded for each monitor. Terminals on the same network usually send the same changes
+	 * in the same tick, those reuse the encoded packet.
+	 */
+	private static final Map<IMEMonitor<IAEItemStack>, EncodedUpdate> LAST_UPDATES = new WeakHashMap<IMEMonitor<IAEItemStack>, EncodedUpdate>();
+
 	private final SlotRestrictedInput[] cellView = new SlotRestrictedInput[5];
 	private final IMEMonitor<IAEItemStack> monitor;
 	private final IItemList<IAEItemStack> items = AEApi.instance().storage().createItemList();
@@ -205,8 +216,7 @@ public class ContainerMEMonitorable extends AEBaseContainer implements IConfigMa
 				try
 				{
 					final IItemList<IAEItemStack> monitorCache = this.monitor.getStorageList();
-
-					final PacketMEInventoryUpdate piu = new PacketMEInventoryUpdate();
+					final List<IAEItemStack> update = new ArrayList<IAEItemStack>( this.items.size() );
 
 					for( final IAEItemStack is : this.items )
 					{
@@ -214,16 +224,18 @@ public class ContainerMEMonitorable extends AEBaseContainer implements IConfigMa
 						if( send == null )
 						{
 							is.setStackSize( 0 );
-							piu.appendItem( is );
+							update.add( is );
 						}
 						else
 						{
-							piu.appendItem( send );
+							update.add( send );
 						}
 					}
 
-					if( !piu.isEmpty() )
+					if( !update.isEmpty() )
 					{
+						final PacketMEInventoryUpdate piu = this.getUpdatePacket( update );
+
 						this.items.resetStatus();
 
 						for( final Object c : this.listeners )
@@ -260,6 +272,27 @@ public class ContainerMEMonitorable extends AEBaseContainer implements IConfigMa
 		}
 	}
 
+	private PacketMEInventoryUpdate getUpdatePacket( final List<IAEItemStack> update ) throws IOException
+	{
+		final EncodedUpdate last = LAST_UPDATES.get( this.monitor );
+
+		if( last != null && last.matches( update ) )
+		{
+			return last.packet;
+		}
+
+		final PacketMEInventoryUpdate piu = new PacketMEInventoryUpdate();
+
+		for( final IAEItemStack is : update )
+		{
+			piu.appendItem( is );
+		}
+
+		LAST_UPDATES.put( this.monitor, new EncodedUpdate( update, piu ) );
+
+		return piu;
+	}
+
 	protected void updatePowerStatus()
 	{
 		try
@@ -441,4 +474,41 @@ public class ContainerMEMonitorable extends AEBaseContainer implements IConfigMa
 	{
 		this.gui = gui;
 	}
+
+	private static final class EncodedUpdate
+	{
+
+		private final Map<IAEItemStack, IAEItemStack> sent = new HashMap<IAEItemStack, IAEItemStack>();
+		private final PacketMEInventoryUpdate packet;
+
+		private EncodedUpdate( final List<IAEItemStack> update, final PacketMEInventoryUpdate packet )
+		{
+			for( final IAEItemStack is : update )
+			{
+				this.sent.put( is, is.copy() );
+			}
+
+			this.packet = packet;
+		}
+
+		private boolean matches( final List<IAEItemStack> update )
+		{
+			if( update.size() != this.sent.size() )
+			{
+				return false;
+			}
+
+			for( final IAEItemStack is : update )
+			{
+				final IAEItemStack old = this.sent.get( is );
+
+				if( old == null || old.getStackSize() != is.getStackSize() || old.getCountRequestable() != is.getCountRequestable() || old.isCraftable() != is.isCraftable() )
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
 }
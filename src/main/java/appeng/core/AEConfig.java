@@ -100,6 +100,7 @@ public final class AEConfig extends Configuration implements IConfigurableObject
 	public double meteoriteSpawnChance = 0.3;
 	public int[] meteoriteDimensionWhitelist = { 0 };
 	public int craftingCalculationTimePerTick = 5;
+	public int pathfindingStepsPerTick = 4096;
 	PowerUnits selectedPowerUnit = PowerUnits.AE;
 	private double WirelessBaseCost = 8;
 	private double WirelessCostMultiplier = 1;
@@ -216,6 +217,11 @@ public final class AEConfig extends Configuration implements IConfigurableObject
 			this.craftingCalculationTimePerTick = this.get( "craftingCPU", "craftingCalculationTimePerTick", this.craftingCalculationTimePerTick ).getInt( this.craftingCalculationTimePerTick );
 		}
 
+		if( this.isFeatureEnabled( AEFeature.Channels ) )
+		{
+			this.pathfindingStepsPerTick = this.get( "pathfinding", "pathfindingStepsPerTick", this.pathfindingStepsPerTick ).getInt( this.pathfindingStepsPerTick );
+		}
+
 		this.updatable = true;
 	}
 
@@ -102,6 +102,7 @@ import appeng.spatial.BiomeGenStorage;
 import appeng.spatial.StorageWorldProvider;
 import appeng.tile.AEBaseTile;
 import appeng.util.Platform;
+import appeng.util.item.OreHelper;
 import appeng.worldgen.MeteoriteWorldGen;
 import appeng.worldgen.QuartzWorldGen;
 
@@ -142,6 +143,7 @@ public final class Registration
 		RecipeSorter.register( "AE2-Shapeless", ShapelessRecipe.class, Category.SHAPELESS, "" );
 
 		MinecraftForge.EVENT_BUS.register( OreDictionaryHandler.INSTANCE );
+		MinecraftForge.EVENT_BUS.register( OreHelper.INSTANCE );
 
 		ApiDefinitions definitions = api.definitions();
 
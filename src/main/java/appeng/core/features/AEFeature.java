@@ -122,6 +122,7 @@ public enum AEFeature
 	CraftingLog( Constants.CATEGORY_MISC, false ),
 	LightDetector( Constants.CATEGORY_MISC ),
 	DebugLogging( Constants.CATEGORY_MISC, false ),
+	StorageListVerification( Constants.CATEGORY_MISC, false ),
 
 	EnableFacadeCrafting( Constants.CATEGORY_CRAFTING ),
 	InWorldSingularity( Constants.CATEGORY_CRAFTING ),
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.core.sync.packets;
+
+
+import java.io.IOException;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import appeng.api.parts.IPart;
+import appeng.api.util.AEPartLocation;
+import appeng.core.sync.AppEngPacket;
+import appeng.core.sync.network.INetworkInfo;
+import appeng.parts.networking.PartCable;
+import appeng.tile.networking.TileCableBus;
+
+
+/**
+ * Channel and power state of the cables in one chunk, sent instead of a full update of each cable bus after the
+ * channels of a network changed.
+ */
+public class PacketCableChannels extends AppEngPacket
+{
+
+	private final int chunkX;
+	private final int chunkZ;
+	private final int[] positions;
+	private final byte[] states;
+	private final int[] channels;
+
+	// automatic.
+	public PacketCableChannels( final ByteBuf stream )
+	{
+		this.chunkX = stream.readInt();
+		this.chunkZ = stream.readInt();
+
+		final int size = stream.readInt();
+		this.positions = new int[size];
+		this.states = new byte[size];
+		this.channels = new int[size];
+
+		for( int x = 0; x < size; x++ )
+		{
+			this.positions[x] = stream.readUnsignedShort();
+			this.states[x] = stream.readByte();
+			this.channels[x] = stream.readInt();
+		}
+	}
+
+	// api
+	public PacketCableChannels( final ChunkPos chunk, final List<PartCable> cables ) throws IOException
+	{
+		final ByteBuf data = Unpooled.buffer();
+
+		data.writeInt( this.getPacketID() );
+		data.writeInt( this.chunkX = chunk.chunkXPos );
+		data.writeInt( this.chunkZ = chunk.chunkZPos );
+		data.writeInt( cables.size() );
+
+		for( final PartCable cable : cables )
+		{
+			final BlockPos pos = cable.getTile().getPos();
+
+			data.writeShort( ( pos.getY() << 8 ) | ( ( pos.getZ() & 0xF ) << 4 ) | ( pos.getX() & 0xF ) );
+			cable.writeToStream( data );
+		}
+
+		this.positions = null;
+		this.states = null;
+		this.channels = null;
+
+		this.configureWrite( data );
+	}
+
+	@Override
+	@SideOnly( Side.CLIENT )
+	public void clientPacketData( final INetworkInfo network, final AppEngPacket packet, final EntityPlayer player )
+	{
+		final World world = player.getEntityWorld();
+
+		for( int x = 0; x < this.positions.length; x++ )
+		{
+			final int packed = this.positions[x];
+			final BlockPos pos = new BlockPos( ( this.chunkX << 4 ) + ( packed & 0xF ), packed >> 8, ( this.chunkZ << 4 ) + ( ( packed >> 4 ) & 0xF ) );
+
+			if( !world.isBlockLoaded( pos ) )
+			{
+				continue;
+			}
+
+			final TileEntity te = world.getTileEntity( pos );
+
+			if( te instanceof TileCableBus )
+			{
+				final TileCableBus tcb = (TileCableBus) te;
+				final IPart part = tcb.getPart( AEPartLocation.INTERNAL );
+
+				// only re-render if anything visible changed.
+				if( part instanceof PartCable && ( (PartCable) part ).setChannelState( this.states[x], this.channels[x] ) )
+				{
+					tcb.markForUpdate();
+				}
+			}
+		}
+	}
+}
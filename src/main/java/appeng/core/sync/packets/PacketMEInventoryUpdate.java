@@ -20,13 +20,12 @@ package appeng.core.sync.packets;
 
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.BufferOverflowException;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import javax.annotation.Nullable;
 
@@ -45,7 +44,6 @@ import appeng.client.gui.implementations.GuiCraftConfirm;
 import appeng.client.gui.implementations.GuiCraftingCPU;
 import appeng.client.gui.implementations.GuiMEMonitorable;
 import appeng.client.gui.implementations.GuiNetworkStatus;
-import appeng.core.AELog;
 import appeng.core.sync.AppEngPacket;
 import appeng.core.sync.network.INetworkInfo;
 import appeng.util.item.AEItemStack;
@@ -56,7 +54,16 @@ public class PacketMEInventoryUpdate extends AppEngPacket
 	private static final int UNCOMPRESSED_PACKET_BYTE_LIMIT = 16 * 1024 * 1024;
 	private static final int OPERATION_BYTE_LIMIT = 2 * 1024;
 	private static final int TEMP_BUFFER_SIZE = 1024;
-	private static final int STREAM_MASK = 0xff;
+
+	// one deflater per thread, creating a new one for every packet allocates native zlib state each time.
+	private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<Deflater>(){
+
+		@Override
+		protected Deflater initialValue()
+		{
+			return new Deflater();
+		}
+	};
 
 	// input.
 	@Nullable
@@ -65,50 +72,51 @@ public class PacketMEInventoryUpdate extends AppEngPacket
 	private final byte ref;
 
 	@Nullable
-	private final ByteBuf data;
+	private final ByteBuf uncompressed;
 	@Nullable
-	private final GZIPOutputStream compressFrame;
+	private ByteBuf data;
 
-	private int writtenBytes = 0;
 	private boolean empty = true;
 
 	// automatic.
 	public PacketMEInventoryUpdate( final ByteBuf stream ) throws IOException
 	{
 		this.data = null;
-		this.compressFrame = null;
+		this.uncompressed = null;
 		this.list = new LinkedList<IAEItemStack>();
 		this.ref = stream.readByte();
 
-		// int originalBytes = stream.readableBytes();
+		final byte[] compressed = new byte[stream.readableBytes()];
+		stream.readBytes( compressed );
+
+		final Inflater inflater = new Inflater();
+		final ByteBuf uncompressed = Unpooled.buffer( compressed.length * 4 );
 
-		final GZIPInputStream gzReader = new GZIPInputStream( new InputStream(){
-			@Override
-			public int read() throws IOException
+		try
+		{
+			inflater.setInput( compressed );
+
+			final byte[] tmp = new byte[TEMP_BUFFER_SIZE];
+			while( !inflater.finished() )
 			{
-				if( stream.readableBytes() <= 0 )
+				final int bytes = inflater.inflate( tmp );
+
+				if( bytes == 0 && ( inflater.needsInput() || inflater.needsDictionary() ) )
 				{
-					return -1;
+					throw new IOException( "Truncated inventory update." );
 				}
 
-				return stream.readByte() & STREAM_MASK;
-			}
-		} );
-
-		final ByteBuf uncompressed = Unpooled.buffer( stream.readableBytes() );
-		final byte[] tmp = new byte[TEMP_BUFFER_SIZE];
-		while( gzReader.available() != 0 )
-		{
-			final int bytes = gzReader.read( tmp );
-			if( bytes > 0 )
-			{
 				uncompressed.writeBytes( tmp, 0, bytes );
 			}
 		}
-		gzReader.close();
-
-		// int uncompressedBytes = uncompressed.readableBytes();
-		// AELog.info( "Receiver: " + originalBytes + " -> " + uncompressedBytes );
+		catch( final DataFormatException e )
+		{
+			throw new IOException( e );
+		}
+		finally
+		{
+			inflater.end();
+		}
 
 		while( uncompressed.readableBytes() > 0 )
 		{
@@ -128,18 +136,8 @@ public class PacketMEInventoryUpdate extends AppEngPacket
 	public PacketMEInventoryUpdate( final byte ref ) throws IOException
 	{
 		this.ref = ref;
-		this.data = Unpooled.buffer( OPERATION_BYTE_LIMIT );
-		this.data.writeInt( this.getPacketID() );
-		this.data.writeByte( this.ref );
-
-		this.compressFrame = new GZIPOutputStream( new OutputStream(){
-			@Override
-			public void write( final int value ) throws IOException
-			{
-				PacketMEInventoryUpdate.this.data.writeByte( value );
-			}
-		} );
-
+		this.uncompressed = Unpooled.buffer( OPERATION_BYTE_LIMIT );
+		this.data = null;
 		this.list = null;
 	}
 
@@ -170,45 +168,78 @@ public class PacketMEInventoryUpdate extends AppEngPacket
 		}
 	}
 
+	/**
+	 * Compresses the appended items the first time the packet is sent. The same packet can then be sent to any number
+	 * of players without being encoded again.
+	 */
 	@Nullable
 	@Override
 	public FMLProxyPacket getProxy()
 	{
+		if( this.data == null )
+		{
+			this.data = this.compress();
+		}
+
+		// every proxy reads its own view of the data.
+		this.configureWrite( this.data.duplicate() );
+		return super.getProxy();
+	}
+
+	private ByteBuf compress()
+	{
+		final Deflater deflater = DEFLATER.get();
+		final ByteBuf out = Unpooled.buffer( Math.max( OPERATION_BYTE_LIMIT, this.uncompressed.readableBytes() / 4 ) );
+
+		out.writeInt( this.getPacketID() );
+		out.writeByte( this.ref );
+
 		try
 		{
-			this.compressFrame.close();
+			deflater.setInput( this.uncompressed.array(), this.uncompressed.arrayOffset() + this.uncompressed.readerIndex(), this.uncompressed.readableBytes() );
+			deflater.finish();
 
-			this.configureWrite( this.data );
-			return super.getProxy();
+			final byte[] tmp = new byte[TEMP_BUFFER_SIZE];
+			while( !deflater.finished() )
+			{
+				final int bytes = deflater.deflate( tmp );
+				out.writeBytes( tmp, 0, bytes );
+			}
 		}
-		catch( final IOException e )
+		finally
 		{
-			AELog.debug( e );
+			deflater.reset();
 		}
 
-		return null;
+		return out;
 	}
 
 	public void appendItem( final IAEItemStack is ) throws IOException, BufferOverflowException
 	{
-		final ByteBuf tmp = Unpooled.buffer( OPERATION_BYTE_LIMIT );
-		is.writeToPacket( tmp );
-
-		this.compressFrame.flush();
-		if( this.writtenBytes + tmp.readableBytes() > UNCOMPRESSED_PACKET_BYTE_LIMIT )
+		if( this.data != null )
 		{
-			throw new BufferOverflowException();
+			throw new IllegalStateException( "Packet was already sent." );
 		}
-		else
+
+		final int start = this.uncompressed.writerIndex();
+		is.writeToPacket( this.uncompressed );
+
+		if( this.uncompressed.writerIndex() > UNCOMPRESSED_PACKET_BYTE_LIMIT )
 		{
-			this.writtenBytes += tmp.readableBytes();
-			this.compressFrame.write( tmp.array(), 0, tmp.readableBytes() );
-			this.empty = false;
+			this.uncompressed.writerIndex( start );
+			throw new BufferOverflowException();
 		}
+
+		this.empty = false;
 	}
 
 	public int getLength()
 	{
+		if( this.data == null )
+		{
+			return this.uncompressed.readableBytes();
+		}
+
 		return this.data.readableBytes();
 	}
 
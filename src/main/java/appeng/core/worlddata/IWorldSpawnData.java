@@ -38,4 +38,9 @@ public interface IWorldSpawnData
 	boolean addNearByMeteorites( int dim, int chunkX, int chunkZ, NBTTagCompound newData );
 
 	Collection<NBTTagCompound> getNearByMeteorites( int dim, int chunkX, int chunkZ );
+
+	/**
+	 * Writes all pending changes to disk.
+	 */
+	void flush();
 }
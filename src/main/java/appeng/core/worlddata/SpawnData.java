@@ -23,8 +23,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 
@@ -37,16 +42,25 @@ import appeng.core.AELog;
 
 
 /**
+ * Keeps the decoded spawn data of recently used regions in memory, every region covers 16x16 chunks and is stored in
+ * its own file. Changes are written back on world save, when the region is evicted or when the world stops, instead
+ * of rewriting the file for every generated chunk.
+ *
+ * Each region is locked on its own, so world generation in different regions does not wait on each other.
+ *
  * @author thatsIch
  * @version rv3 - 30.05.2015
  * @since rv3 30.05.2015
  */
-final class SpawnData implements IWorldSpawnData
+final class SpawnData implements IWorldSpawnData, IOnWorldStoppable
 {
+	private static final int CACHED_REGIONS = 128;
+
 	@Nonnull
 	private final File spawnDirectory;
 	@Nonnull
 	private final MeteorDataNameEncoder encoder;
+	private final Map<String, SpawnRegion> regions = new LinkedHashMap<String, SpawnRegion>( 16, 0.75f, true );
 
 	public SpawnData( @Nonnull final File spawnDirectory )
 	{
@@ -59,42 +73,70 @@ final class SpawnData implements IWorldSpawnData
 	@Override
 	public void setGenerated( final int dim, final int chunkX, final int chunkZ )
 	{
-		synchronized( SpawnData.class )
-		{
-			final NBTTagCompound data = this.loadSpawnData( dim, chunkX, chunkZ );
+		final SpawnRegion region = this.acquire( dim, chunkX, chunkZ );
 
-			// edit.
-			data.setBoolean( chunkX + "," + chunkZ, true );
+		try
+		{
+			synchronized( region )
+			{
+				final NBTTagCompound data = region.getData();
+				final String key = chunkX + "," + chunkZ;
 
-			this.writeSpawnData( dim, chunkX, chunkZ, data );
+				if( !data.getBoolean( key ) )
+				{
+					// edit.
+					data.setBoolean( key, true );
+					region.markDirty();
+				}
+			}
+		}
+		finally
+		{
+			this.release( region );
 		}
 	}
 
 	@Override
 	public boolean hasGenerated( final int dim, final int chunkX, final int chunkZ )
 	{
-		synchronized( SpawnData.class )
+		final SpawnRegion region = this.acquire( dim, chunkX, chunkZ );
+
+		try
+		{
+			synchronized( region )
+			{
+				return region.getData().getBoolean( chunkX + "," + chunkZ );
+			}
+		}
+		finally
 		{
-			final NBTTagCompound data = this.loadSpawnData( dim, chunkX, chunkZ );
-			return data.getBoolean( chunkX + "," + chunkZ );
+			this.release( region );
 		}
 	}
 
 	@Override
 	public boolean addNearByMeteorites( final int dim, final int chunkX, final int chunkZ, final NBTTagCompound newData )
 	{
-		synchronized( SpawnData.class )
-		{
-			final NBTTagCompound data = this.loadSpawnData( dim, chunkX, chunkZ );
+		final SpawnRegion region = this.acquire( dim, chunkX, chunkZ );
 
-			// edit.
-			final int size = data.getInteger( "num" );
-			data.setTag( String.valueOf( size ), newData );
-			data.setInteger( "num", size + 1 );
+		try
+		{
+			synchronized( region )
+			{
+				final NBTTagCompound data = region.getData();
 
-			this.writeSpawnData( dim, chunkX, chunkZ, data );
+				// edit.
+				final int size = data.getInteger( "num" );
+				data.setTag( String.valueOf( size ), newData.copy() );
+				data.setInteger( "num", size + 1 );
+				region.markDirty();
 
-			return true;
+				return true;
+			}
+		}
+		finally
+		{
+			this.release( region );
 		}
 	}
 
@@ -103,43 +145,117 @@ final class SpawnData implements IWorldSpawnData
 	{
 		final Collection<NBTTagCompound> ll = new LinkedList<NBTTagCompound>();
 
-		synchronized( SpawnData.class )
+		for( int x = -1; x <= 1; x++ )
 		{
-			for( int x = -1; x <= 1; x++ )
+			for( int z = -1; z <= 1; z++ )
 			{
-				for( int z = -1; z <= 1; z++ )
-				{
-					final int cx = x + ( chunkX >> 4 );
-					final int cz = z + ( chunkZ >> 4 );
+				final int cx = x + ( chunkX >> 4 );
+				final int cz = z + ( chunkZ >> 4 );
 
-					final NBTTagCompound data = this.loadSpawnData( dim, cx << 4, cz << 4 );
+				final SpawnRegion region = this.acquire( dim, cx << 4, cz << 4 );
 
-					if( data != null )
+				try
+				{
+					synchronized( region )
 					{
-						// edit.
+						final NBTTagCompound data = region.getData();
+
 						final int size = data.getInteger( "num" );
 						for( int s = 0; s < size; s++ )
 						{
-							ll.add( data.getCompoundTag( String.valueOf( s ) ) );
+							ll.add( data.getCompoundTag( String.valueOf( s ) ).copy() );
 						}
 					}
 				}
+				finally
+				{
+					this.release( region );
+				}
 			}
 		}
 
 		return ll;
 	}
 
-	private NBTTagCompound loadSpawnData( final int dim, final int chunkX, final int chunkZ )
+	@Override
+	public void flush()
 	{
-		if( !Thread.holdsLock( SpawnData.class ) )
+		final List<SpawnRegion> dirty;
+
+		synchronized( this.regions )
 		{
-			throw new IllegalStateException( "Invalid Request" );
+			dirty = new ArrayList<SpawnRegion>( this.regions.values() );
 		}
 
-		NBTTagCompound data = null;
+		for( final SpawnRegion region : dirty )
+		{
+			region.save();
+		}
+	}
+
+	@Override
+	public void onWorldStop()
+	{
+		this.flush();
+
+		synchronized( this.regions )
+		{
+			this.regions.clear();
+		}
+	}
+
+	private SpawnRegion acquire( final int dim, final int chunkX, final int chunkZ )
+	{
 		final String fileName = this.encoder.encode( dim, chunkX, chunkZ );
-		final File file = new File( this.spawnDirectory, fileName );
+
+		synchronized( this.regions )
+		{
+			SpawnRegion region = this.regions.get( fileName );
+
+			if( region == null )
+			{
+				region = new SpawnRegion( new File( this.spawnDirectory, fileName ) );
+				this.regions.put( fileName, region );
+			}
+
+			region.users++;
+			this.evictUnused();
+
+			return region;
+		}
+	}
+
+	private void release( final SpawnRegion region )
+	{
+		synchronized( this.regions )
+		{
+			region.users--;
+		}
+	}
+
+	/**
+	 * Drops the least recently used regions nobody is working on. Happens while holding the region table, so a region
+	 * is never read from disk before its evicted copy has been written back.
+	 */
+	private void evictUnused()
+	{
+		final Iterator<SpawnRegion> i = this.regions.values().iterator();
+
+		while( this.regions.size() > CACHED_REGIONS && i.hasNext() )
+		{
+			final SpawnRegion region = i.next();
+
+			if( region.users == 0 )
+			{
+				i.remove();
+				region.save();
+			}
+		}
+	}
+
+	private static NBTTagCompound loadSpawnData( final File file )
+	{
+		NBTTagCompound data = null;
 
 		if( file.isFile() )
 		{
@@ -178,15 +294,8 @@ final class SpawnData implements IWorldSpawnData
 		return data;
 	}
 
-	private void writeSpawnData( final int dim, final int chunkX, final int chunkZ, final NBTTagCompound data )
+	private static void writeSpawnData( final File file, final NBTTagCompound data )
 	{
-		if( !Thread.holdsLock( SpawnData.class ) )
-		{
-			throw new IllegalStateException( "Invalid Request" );
-		}
-
-		final String fileName = this.encoder.encode( dim, chunkX, chunkZ );
-		final File file = new File( this.spawnDirectory, fileName );
 		FileOutputStream fileOutputStream = null;
 
 		try
@@ -213,4 +322,48 @@ final class SpawnData implements IWorldSpawnData
 			}
 		}
 	}
+
+	/**
+	 * The data of one region file, read on first use. Callers synchronize on the region while using its data.
+	 */
+	private static final class SpawnRegion
+	{
+		private final File file;
+		private NBTTagCompound data;
+		private boolean dirty;
+
+		/**
+		 * guarded by the region table
+		 */
+		private int users;
+
+		private SpawnRegion( final File file )
+		{
+			this.file = file;
+		}
+
+		private NBTTagCompound getData()
+		{
+			if( this.data == null )
+			{
+				this.data = loadSpawnData( this.file );
+			}
+
+			return this.data;
+		}
+
+		private void markDirty()
+		{
+			this.dirty = true;
+		}
+
+		private synchronized void save()
+		{
+			if( this.dirty )
+			{
+				writeSpawnData( this.file, this.data );
+				this.dirty = false;
+			}
+		}
+	}
 }
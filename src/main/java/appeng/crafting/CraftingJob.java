@@ -20,7 +20,14 @@ package appeng.crafting;
 
 
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Stopwatch;
 
@@ -47,20 +54,49 @@ import appeng.api.storage.data.IItemList;
 import appeng.api.util.DimensionalCoord;
 import appeng.core.AELog;
 import appeng.hooks.TickHandler;
+import appeng.me.cache.CraftingGridCache;
 
 
 public class CraftingJob implements Runnable, ICraftingJob
 {
 	private static final String LOG_CRAFTING_JOB = "CraftingJob (%s) issued by %s requesting [%s] using %s bytes took %s ms";
 	private static final String LOG_MACHINE_SOURCE_DETAILS = "Machine[object=%s, %s]";
+	private static final String LOG_CRAFTING_STATS = "CraftingJob requesting [%s] built %s tree nodes (%s without sharing, %s sub-plans shared) in %s ms, %s ms wall time";
+
+	/**
+	 * Builds the crafting trees, independent branches are constructed in parallel.
+	 */
+	private static final ForkJoinPool TREE_POOL;
+
+	static
+	{
+		final ForkJoinWorkerThreadFactory factory = new ForkJoinWorkerThreadFactory(){
+
+			@Override
+			public ForkJoinWorkerThread newThread( final ForkJoinPool pool )
+			{
+				final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread( pool );
+				thread.setName( "AE Crafting Tree Builder " + thread.getPoolIndex() );
+				return thread;
+			}
+		};
+
+		TREE_POOL = new ForkJoinPool( Math.max( 1, Runtime.getRuntime().availableProcessors() - 1 ), factory, null, false );
+	}
 
 	private final MECraftingInventory original;
+	private final CraftingPatternSnapshot patterns;
 	private final World world;
 	private final IItemList<IAEItemStack> crafting = AEApi.instance().storage().createItemList();
 	private final IItemList<IAEItemStack> missing = AEApi.instance().storage().createItemList();
 	private final HashMap<String, TwoIntegers> opsAndMultiplier = new HashMap<String, TwoIntegers>();
 	private final Object monitor = new Object();
 	private final Stopwatch watch = Stopwatch.createUnstarted();
+	private final Stopwatch wallTime = Stopwatch.createUnstarted();
+	private final AtomicInteger treeNodes = new AtomicInteger();
+	private final AtomicInteger sharedSubPlans = new AtomicInteger();
+	private final ConcurrentMap<SubPlanKey, CraftingTreeProcess> subPlans = new ConcurrentHashMap<SubPlanKey, CraftingTreeProcess>();
+	private long treeTime = 0;
 	private CraftingTreeNode tree;
 	private final IAEItemStack output;
 	private boolean simulate = false;
@@ -85,17 +121,44 @@ public class CraftingJob implements Runnable, ICraftingJob
 		this.actionSrc = actionSrc;
 
 		this.callback = callback;
-		final ICraftingGrid cc = grid.getCache( ICraftingGrid.class );
+		final CraftingGridCache cc = grid.getCache( ICraftingGrid.class );
 		final IStorageGrid sg = grid.getCache( IStorageGrid.class );
 		this.original = new MECraftingInventory( sg.getItemInventory(), actionSrc, false, false, false );
+		this.patterns = cc.getPatternSnapshot( this.world );
 
-		this.setTree( this.getCraftingTree( cc, what ) );
 		this.availableCheck = null;
 	}
 
-	private CraftingTreeNode getCraftingTree( final ICraftingGrid cc, final IAEItemStack what )
+	private CraftingTreeNode getCraftingTree( final IAEItemStack what )
+	{
+		return TREE_POOL.invoke( new RecursiveTask<CraftingTreeNode>(){
+
+			@Override
+			protected CraftingTreeNode compute()
+			{
+				return new CraftingTreeNode( CraftingJob.this.patterns, CraftingJob.this, what, null, -1, 0 );
+			}
+		} );
+	}
+
+	void addTreeNode()
+	{
+		this.treeNodes.incrementAndGet();
+	}
+
+	void addSharedSubPlan()
+	{
+		this.sharedSubPlans.incrementAndGet();
+	}
+
+	CraftingTreeProcess getSubPlan( final IAEItemStack what, final ICraftingPatternDetails details )
 	{
-		return new CraftingTreeNode( cc, this, what, null, -1, 0 );
+		return this.subPlans.get( new SubPlanKey( what, details ) );
+	}
+
+	void putSubPlan( final IAEItemStack what, final ICraftingPatternDetails details, final CraftingTreeProcess process )
+	{
+		this.subPlans.putIfAbsent( new SubPlanKey( what, details ), process );
 	}
 
 	void refund( final IAEItemStack o )
@@ -136,6 +199,14 @@ public class CraftingJob implements Runnable, ICraftingJob
 		{
 			try
 			{
+				this.wallTime.start();
+
+				// the tree only reads the pattern snapshot, so it is built without holding up the server thread.
+				final Stopwatch treeTimer = Stopwatch.createStarted();
+				this.setTree( this.getCraftingTree( this.output.copy() ) );
+				this.treeTime = treeTimer.elapsed( TimeUnit.MILLISECONDS );
+				this.subPlans.clear();
+
 				TickHandler.INSTANCE.registerCraftingSimulation( this.world, this );
 				this.handlePausing();
 
@@ -264,6 +335,13 @@ public class CraftingJob implements Runnable, ICraftingJob
 
 		this.availableCheck = null;
 
+		if( this.wallTime.isRunning() )
+		{
+			this.wallTime.stop();
+			final long unshared = this.getTree() == null ? 0 : this.getTree().getUnsharedSize();
+			AELog.crafting( LOG_CRAFTING_STATS, this.output, this.treeNodes.get(), unshared, this.sharedSubPlans.get(), this.treeTime, this.wallTime.elapsed( TimeUnit.MILLISECONDS ) );
+		}
+
 		synchronized( this.monitor )
 		{
 			this.running = false;
@@ -405,4 +483,36 @@ public class CraftingJob implements Runnable, ICraftingJob
 		private final long perOp = 0;
 		private final long times = 0;
 	}
+
+	private static final class SubPlanKey
+	{
+
+		private final IAEItemStack what;
+		private final ICraftingPatternDetails details;
+
+		private SubPlanKey( final IAEItemStack what, final ICraftingPatternDetails details )
+		{
+			this.what = what.copy();
+			this.details = details;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return this.what.hashCode() * 31 + this.details.hashCode();
+		}
+
+		@Override
+		public boolean equals( final Object obj )
+		{
+			if( obj instanceof SubPlanKey )
+			{
+				final SubPlanKey b = (SubPlanKey) obj;
+
+				return b.what.equals( this.what ) && b.details.equals( this.details );
+			}
+
+			return false;
+		}
+	}
 }
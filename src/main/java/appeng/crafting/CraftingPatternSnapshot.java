@@ -0,0 +1,229 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import net.minecraft.item.Item;
+import net.minecraft.world.World;
+
+import appeng.api.networking.crafting.ICraftingPatternDetails;
+import appeng.api.storage.data.IAEItemStack;
+
+
+/**
+ * Immutable copy of the pattern tables of a crafting grid.
+ *
+ * A crafting job builds its tree from this copy, so it can do so off the server thread while the grid keeps changing.
+ * Slot matches which need the recipes of the world are resolved on the server thread when the copy is taken, the tree
+ * builder only reads them. The copy is shared by all jobs started until the patterns change.
+ */
+public final class CraftingPatternSnapshot
+{
+
+	private final ImmutableMap<IAEItemStack, ImmutableList<ICraftingPatternDetails>> craftableItems;
+	private final ImmutableSet<IAEItemStack> emitableItems;
+	private final ConcurrentMap<ICraftingPatternDetails, PatternInputs> patternInputs = new ConcurrentHashMap<ICraftingPatternDetails, PatternInputs>();
+	private final ImmutableMap<SlotLookup, ImmutableList<ICraftingPatternDetails>> fuzzyInputs;
+
+	public CraftingPatternSnapshot( final Map<IAEItemStack, ImmutableList<ICraftingPatternDetails>> craftableItems, final Set<IAEItemStack> emitableItems, final World world )
+	{
+		this.craftableItems = ImmutableMap.copyOf( craftableItems );
+		this.emitableItems = ImmutableSet.copyOf( emitableItems );
+		this.fuzzyInputs = this.findFuzzyInputs( world );
+	}
+
+	/**
+	 * Runs the fuzzy fallback of {@link #getCraftingFor(Map, IAEItemStack, ICraftingPatternDetails, int, World)} for
+	 * every input the tree can ask for, these are the inputs of each craftable pattern.
+	 */
+	private ImmutableMap<SlotLookup, ImmutableList<ICraftingPatternDetails>> findFuzzyInputs( final World world )
+	{
+		final Map<Item, List<IAEItemStack>> craftableByItem = new HashMap<Item, List<IAEItemStack>>();
+
+		for( final IAEItemStack ais : this.craftableItems.keySet() )
+		{
+			List<IAEItemStack> sameItem = craftableByItem.get( ais.getItem() );
+
+			if( sameItem == null )
+			{
+				sameItem = new ArrayList<IAEItemStack>( 1 );
+				craftableByItem.put( ais.getItem(), sameItem );
+			}
+
+			sameItem.add( ais );
+		}
+
+		final Set<ICraftingPatternDetails> visited = new HashSet<ICraftingPatternDetails>();
+		final Map<SlotLookup, ImmutableList<ICraftingPatternDetails>> found = new HashMap<SlotLookup, ImmutableList<ICraftingPatternDetails>>();
+
+		for( final ImmutableList<ICraftingPatternDetails> patterns : this.craftableItems.values() )
+		{
+			for( final ICraftingPatternDetails details : patterns )
+			{
+				if( !details.isCraftable() || !visited.add( details ) )
+				{
+					continue;
+				}
+
+				final PatternInputs inputs = this.getPatternInputs( details );
+
+				for( int x = 0; x < inputs.size(); x++ )
+				{
+					final IAEItemStack part = inputs.getPart( x );
+					final List<IAEItemStack> sameItem = craftableByItem.get( part.getItem() );
+
+					if( sameItem == null || this.craftableItems.containsKey( part ) )
+					{
+						continue;
+					}
+
+					for( final IAEItemStack ais : sameItem )
+					{
+						if( ( !ais.getItem().getHasSubtypes() || ais.getItemDamage() == part.getItemDamage() ) && details.isValidItemForSlot( inputs.getSlot( x ), ais.getItemStack(), world ) )
+						{
+							found.put( new SlotLookup( part, details, inputs.getSlot( x ) ), this.craftableItems.get( ais ) );
+							break;
+						}
+					}
+				}
+			}
+		}
+
+		return ImmutableMap.copyOf( found );
+	}
+
+	public static ImmutableCollection<ICraftingPatternDetails> getCraftingFor( final Map<IAEItemStack, ImmutableList<ICraftingPatternDetails>> craftableItems, final IAEItemStack whatToCraft, final ICraftingPatternDetails details, final int slotIndex, final World world )
+	{
+		final ImmutableList<ICraftingPatternDetails> res = craftableItems.get( whatToCraft );
+
+		if( res == null )
+		{
+			if( details != null && details.isCraftable() )
+			{
+				for( final IAEItemStack ais : craftableItems.keySet() )
+				{
+					if( ais.getItem() == whatToCraft.getItem() && ( !ais.getItem().getHasSubtypes() || ais.getItemDamage() == whatToCraft.getItemDamage() ) )
+					{
+						if( details.isValidItemForSlot( slotIndex, ais.getItemStack(), world ) )
+						{
+							return craftableItems.get( ais );
+						}
+					}
+				}
+			}
+
+			return ImmutableSet.of();
+		}
+
+		return res;
+	}
+
+	public ImmutableCollection<ICraftingPatternDetails> getCraftingFor( final IAEItemStack whatToCraft, final ICraftingPatternDetails details, final int slotIndex )
+	{
+		final ImmutableList<ICraftingPatternDetails> res = this.craftableItems.get( whatToCraft );
+
+		if( res != null )
+		{
+			return res;
+		}
+
+		if( details == null || !details.isCraftable() )
+		{
+			return ImmutableSet.of();
+		}
+
+		final ImmutableList<ICraftingPatternDetails> found = this.fuzzyInputs.get( new SlotLookup( whatToCraft, details, slotIndex ) );
+
+		return found == null ? ImmutableSet.<ICraftingPatternDetails>of() : found;
+	}
+
+	PatternInputs getPatternInputs( final ICraftingPatternDetails details )
+	{
+		PatternInputs inputs = this.patternInputs.get( details );
+
+		if( inputs == null )
+		{
+			inputs = new PatternInputs( details );
+
+			final PatternInputs previous = this.patternInputs.putIfAbsent( details, inputs );
+
+			if( previous != null )
+			{
+				inputs = previous;
+			}
+		}
+
+		return inputs;
+	}
+
+	public boolean canEmitFor( final IAEItemStack someItem )
+	{
+		return this.emitableItems.contains( someItem );
+	}
+
+	private static final class SlotLookup
+	{
+
+		private final IAEItemStack what;
+		private final ICraftingPatternDetails details;
+		private final int slot;
+		private final int hash;
+
+		private SlotLookup( final IAEItemStack what, final ICraftingPatternDetails details, final int slot )
+		{
+			this.what = what.copy();
+			this.details = details;
+			this.slot = slot;
+			this.hash = ( what.hashCode() * 31 + details.hashCode() ) * 31 + slot;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals( final Object obj )
+		{
+			if( obj instanceof SlotLookup )
+			{
+				final SlotLookup b = (SlotLookup) obj;
+
+				return b.slot == this.slot && b.what.equals( this.what ) && b.details.equals( this.details );
+			}
+
+			return false;
+		}
+	}
+}
@@ -21,8 +21,10 @@ package appeng.crafting;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
 
@@ -31,7 +33,6 @@ import net.minecraft.world.World;
 import appeng.api.AEApi;
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
-import appeng.api.networking.crafting.ICraftingGrid;
 import appeng.api.networking.crafting.ICraftingPatternDetails;
 import appeng.api.networking.security.BaseActionSource;
 import appeng.api.storage.data.IAEItemStack;
@@ -42,8 +43,11 @@ import appeng.me.cluster.implementations.CraftingCPUCluster;
 public class CraftingTreeNode
 {
 
+	static final int NO_RECURSION = Integer.MAX_VALUE;
+
 	// what slot!
 	private final int slot;
+	private final int depth;
 	private final CraftingJob job;
 	private final IItemList<IAEItemStack> used = AEApi.instance().storage().createItemList();
 	// parent node.
@@ -53,6 +57,11 @@ public class CraftingTreeNode
 	private final IAEItemStack what;
 	// what are the crafting patterns for this?
 	private final ArrayList<CraftingTreeProcess> nodes = new ArrayList<CraftingTreeProcess>();
+	// processes that gave nothing back, tracked here since processes can be shared with other nodes.
+	private final Set<CraftingTreeProcess> failed = new HashSet<CraftingTreeProcess>();
+	// shallowest ancestor a recursion check below this node was decided by.
+	private int outerRecursion = NO_RECURSION;
+	private long unsharedSize = 1;
 	private int bytes = 0;
 	private boolean canEmit = false;
 	private long missing = 0;
@@ -61,15 +70,18 @@ public class CraftingTreeNode
 
 	private boolean sim;
 
-	public CraftingTreeNode( final ICraftingGrid cc, final CraftingJob job, final IAEItemStack wat, final CraftingTreeProcess par, final int slot, final int depth )
+	public CraftingTreeNode( final CraftingPatternSnapshot cc, final CraftingJob job, final IAEItemStack wat, final CraftingTreeProcess par, final int slot, final int depth )
 	{
 		this.what = wat;
 		this.parent = par;
 		this.slot = slot;
+		this.depth = depth;
 		this.world = job.getWorld();
 		this.job = job;
 		this.sim = false;
 
+		job.addTreeNode();
+
 		this.canEmit = cc.canEmitFor( this.what );
 
 		if( this.canEmit )
@@ -77,17 +89,54 @@ public class CraftingTreeNode
 			return; // if you can emit for something, you can't make it with patterns.
 		}
 
-		for( final ICraftingPatternDetails details : cc.getCraftingFor( this.what, this.parent == null ? null : this.parent.details, slot, this.world ) )// in
+		for( final ICraftingPatternDetails details : cc.getCraftingFor( this.what, this.parent == null ? null : this.parent.details, slot ) )// in
 		// order.
 		{
-			if( this.parent == null || this.parent.notRecursive( details ) )
+			final int recursion = this.parent == null ? NO_RECURSION : this.parent.findRecursion( details );
+
+			if( recursion == NO_RECURSION )
 			{
-				this.nodes.add( new CraftingTreeProcess( cc, job, details, this, depth + 1 ) );
+				this.nodes.add( this.getProcess( cc, details, depth + 1 ) );
 			}
+			else
+			{
+				this.outerRecursion = Math.min( this.outerRecursion, recursion );
+			}
+		}
+	}
+
+	/**
+	 * Shares the sub-plan of a pattern between every node requesting the same item with it, as long as its subtree
+	 * would be built the same way here.
+	 */
+	private CraftingTreeProcess getProcess( final CraftingPatternSnapshot cc, final ICraftingPatternDetails details, final int depth )
+	{
+		final CraftingTreeProcess shared = this.job.getSubPlan( this.what, details );
+
+		if( shared != null && !this.hasAncestorIn( shared.getSubtreeItems() ) )
+		{
+			this.job.addSharedSubPlan();
+			this.unsharedSize += shared.getUnsharedSize();
+			return shared;
+		}
+
+		final CraftingTreeProcess pro = new CraftingTreeProcess( cc, this.job, details, this, depth );
+		this.outerRecursion = Math.min( this.outerRecursion, pro.getOuterRecursion() );
+		this.unsharedSize += pro.getUnsharedSize();
+
+		if( pro.getOuterRecursion() >= this.depth )
+		{
+			// nothing above this node pruned the subtree, every node sharing it requests the same item.
+			this.job.putSubPlan( this.what, details, pro );
 		}
+
+		return pro;
 	}
 
-	boolean notRecursive( final ICraftingPatternDetails details )
+	/**
+	 * @return the depth of the closest node the pattern would craft into itself at, or {@link #NO_RECURSION}.
+	 */
+	int findRecursion( final ICraftingPatternDetails details )
 	{
 		IAEItemStack[] o = details.getCondensedOutputs();
 
@@ -95,7 +144,7 @@ public class CraftingTreeNode
 		{
 			if( i.equals( this.what ) )
 			{
-				return false;
+				return this.depth;
 			}
 		}
 
@@ -105,16 +154,44 @@ public class CraftingTreeNode
 		{
 			if( i.equals( this.what ) )
 			{
-				return false;
+				return this.depth;
 			}
 		}
 
 		if( this.parent == null )
+		{
+			return NO_RECURSION;
+		}
+
+		return this.parent.findRecursion( details );
+	}
+
+	boolean hasAncestorIn( final Set<IAEItemStack> items )
+	{
+		if( items.contains( this.what ) )
 		{
 			return true;
 		}
 
-		return this.parent.notRecursive( details );
+		return this.parent != null && this.parent.hasAncestorIn( items );
+	}
+
+	int getOuterRecursion()
+	{
+		return this.outerRecursion;
+	}
+
+	long getUnsharedSize()
+	{
+		return this.unsharedSize;
+	}
+
+	void collectSubtreeItems( final Set<IAEItemStack> items )
+	{
+		for( final CraftingTreeProcess pro : this.nodes )
+		{
+			pro.collectItems( items );
+		}
 	}
 
 	IAEItemStack request( final MECraftingInventory inv, long l, final BaseActionSource src ) throws CraftBranchFailure, InterruptedException
@@ -210,7 +287,7 @@ public class CraftingTreeNode
 			final IAEItemStack wat = this.what.copy();
 			wat.setStackSize( l );
 
-			this.howManyEmitted = wat.getStackSize();
+			this.howManyEmitted += wat.getStackSize();
 			this.bytes += wat.getStackSize();
 
 			return wat;
@@ -222,7 +299,7 @@ public class CraftingTreeNode
 		{
 			final CraftingTreeProcess pro = this.nodes.get( 0 );
 
-			while( pro.possible && l > 0 )
+			while( !this.failed.contains( pro ) && l > 0 )
 			{
 				final IAEItemStack madeWhat = pro.getAmountCrafted( this.what );
 
@@ -244,7 +321,7 @@ public class CraftingTreeNode
 				}
 				else
 				{
-					pro.possible = false; // ;P
+					this.failed.add( pro ); // ;P
 				}
 			}
 		}
@@ -254,7 +331,7 @@ public class CraftingTreeNode
 			{
 				try
 				{
-					while( pro.possible && l > 0 )
+					while( !this.failed.contains( pro ) && l > 0 )
 					{
 						final MECraftingInventory subInv = new MECraftingInventory( inv, true, true, true );
 						pro.request( subInv, 1, src );
@@ -279,13 +356,13 @@ public class CraftingTreeNode
 						}
 						else
 						{
-							pro.possible = false; // ;P
+							this.failed.add( pro ); // ;P
 						}
 					}
 				}
 				catch( final CraftBranchFailure fail )
 				{
-					pro.possible = true;
+					this.failed.remove( pro );
 				}
 			}
 		}
@@ -310,6 +387,11 @@ public class CraftingTreeNode
 	}
 
 	void dive( final CraftingJob job )
+	{
+		this.dive( job, new HashSet<CraftingTreeProcess>() );
+	}
+
+	void dive( final CraftingJob job, final Set<CraftingTreeProcess> visited )
 	{
 		if( this.missing > 0 )
 		{
@@ -321,7 +403,10 @@ public class CraftingTreeNode
 
 		for( final CraftingTreeProcess pro : this.nodes )
 		{
-			pro.dive( job );
+			if( visited.add( pro ) )
+			{
+				pro.dive( job, visited );
+			}
 		}
 	}
 
@@ -333,20 +418,34 @@ public class CraftingTreeNode
 	}
 
 	void setSimulate()
+	{
+		this.setSimulate( new HashSet<CraftingTreeProcess>() );
+	}
+
+	void setSimulate( final Set<CraftingTreeProcess> visited )
 	{
 		this.sim = true;
 		this.missing = 0;
 		this.bytes = 0;
 		this.used.resetStatus();
 		this.exhausted = false;
+		this.howManyEmitted = 0;
 
 		for( final CraftingTreeProcess pro : this.nodes )
 		{
-			pro.setSimulate();
+			if( visited.add( pro ) )
+			{
+				pro.setSimulate( visited );
+			}
 		}
 	}
 
 	public void setJob( final MECraftingInventory storage, final CraftingCPUCluster craftingCPUCluster, final BaseActionSource src ) throws CraftBranchFailure
+	{
+		this.setJob( storage, craftingCPUCluster, src, new HashSet<CraftingTreeProcess>() );
+	}
+
+	void setJob( final MECraftingInventory storage, final CraftingCPUCluster craftingCPUCluster, final BaseActionSource src, final Set<CraftingTreeProcess> visited ) throws CraftBranchFailure
 	{
 		for( final IAEItemStack i : this.used )
 		{
@@ -369,11 +468,19 @@ public class CraftingTreeNode
 
 		for( final CraftingTreeProcess pro : this.nodes )
 		{
-			pro.setJob( storage, craftingCPUCluster, src );
+			if( visited.add( pro ) )
+			{
+				pro.setJob( storage, craftingCPUCluster, src, visited );
+			}
 		}
 	}
 
 	void getPlan( final IItemList<IAEItemStack> plan )
+	{
+		this.getPlan( plan, new HashSet<CraftingTreeProcess>() );
+	}
+
+	void getPlan( final IItemList<IAEItemStack> plan, final Set<CraftingTreeProcess> visited )
 	{
 		if( this.missing > 0 )
 		{
@@ -396,7 +503,10 @@ public class CraftingTreeNode
 
 		for( final CraftingTreeProcess pro : this.nodes )
 		{
-			pro.getPlan( plan );
+			if( visited.add( pro ) )
+			{
+				pro.getPlan( plan, visited );
+			}
 		}
 	}
 
@@ -19,9 +19,15 @@
 package appeng.crafting;
 
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.ItemStack;
@@ -31,7 +37,6 @@ import net.minecraftforge.fml.common.FMLCommonHandler;
 
 import appeng.api.AEApi;
 import appeng.api.config.Actionable;
-import appeng.api.networking.crafting.ICraftingGrid;
 import appeng.api.networking.crafting.ICraftingPatternDetails;
 import appeng.api.networking.security.BaseActionSource;
 import appeng.api.storage.data.IAEItemStack;
@@ -44,140 +49,153 @@ import appeng.util.Platform;
 public class CraftingTreeProcess
 {
 
+	private static final int PARALLEL_DEPTH = 8;
+
 	private final CraftingTreeNode parent;
 	final ICraftingPatternDetails details;
 	private final CraftingJob job;
 	private final Map<CraftingTreeNode, Long> nodes = new HashMap<CraftingTreeNode, Long>();
 	private final int depth;
-	boolean possible = true;
-	private World world;
+	// items of every pattern below this one, sharing this sub-plan under one of them would have pruned it.
+	private final Set<IAEItemStack> subtreeItems = new HashSet<IAEItemStack>();
+	private int outerRecursion = CraftingTreeNode.NO_RECURSION;
+	private long unsharedSize = 1;
+	private final World world;
 	private long crafts = 0;
-	private boolean containerItems;
-	private boolean limitQty;
+	private final boolean containerItems;
+	private final boolean limitQty;
 	private boolean fullSimulation;
+	private boolean fullSimulationChecked;
 	private long bytes = 0;
 
-	public CraftingTreeProcess( final ICraftingGrid cc, final CraftingJob job, final ICraftingPatternDetails details, final CraftingTreeNode craftingTreeNode, final int depth )
+	public CraftingTreeProcess( final CraftingPatternSnapshot cc, final CraftingJob job, final ICraftingPatternDetails details, final CraftingTreeNode craftingTreeNode, final int depth )
 	{
 		this.parent = craftingTreeNode;
 		this.details = details;
 		this.job = job;
 		this.depth = depth;
-		final World world = job.getWorld();
+		this.world = job.getWorld();
+
+		job.addTreeNode();
+
+		final PatternInputs inputs = cc.getPatternInputs( details );
+		this.limitQty = inputs.isLimitQty();
+		this.containerItems = inputs.hasContainerItems();
 
-		if( details.isCraftable() )
+		final List<Branch> branches = new ArrayList<Branch>( inputs.size() );
+
+		for( int x = 0; x < inputs.size(); x++ )
 		{
-			final IAEItemStack[] list = details.getInputs();
+			branches.add( new Branch( cc, inputs.getPart( x ), inputs.getSlot( x ) ) );
+		}
 
-			final InventoryCrafting ic = new InventoryCrafting( new ContainerNull(), 3, 3 );
-			final IAEItemStack[] is = details.getInputs();
-			for( int x = 0; x < ic.getSizeInventory(); x++ )
+		this.addBranches( branches );
+	}
+
+	/**
+	 * Builds the child nodes, on the tree builder pool the upper branches are built in parallel.
+	 */
+	private void addBranches( final List<Branch> branches )
+	{
+		if( branches.size() > 1 && this.depth < PARALLEL_DEPTH && ForkJoinTask.inForkJoinPool() )
+		{
+			ForkJoinTask.invokeAll( branches );
+		}
+		else
+		{
+			for( final Branch branch : branches )
 			{
-				ic.setInventorySlotContents( x, is[x] == null ? null : is[x].getItemStack() );
+				branch.compute();
 			}
+		}
 
-			FMLCommonHandler.instance().firePlayerCraftingEvent( Platform.getPlayer( (WorldServer) world ), details.getOutput( ic, world ), ic );
+		for( final Branch branch : branches )
+		{
+			this.nodes.put( branch.node, branch.part.getStackSize() );
+			this.outerRecursion = Math.min( this.outerRecursion, branch.node.getOuterRecursion() );
+			this.unsharedSize += branch.node.getUnsharedSize();
+			branch.node.collectSubtreeItems( this.subtreeItems );
+		}
+	}
 
-			for( int x = 0; x < ic.getSizeInventory(); x++ )
+	/**
+	 * Checks whether crafting this pattern leaves more than a single item in a slot behind. This fires the crafting
+	 * event, so it is only done while the job runs in step with the server thread and not while the tree is built.
+	 */
+	private boolean isFullSimulation()
+	{
+		if( !this.fullSimulationChecked )
+		{
+			this.fullSimulationChecked = true;
+
+			if( this.details.isCraftable() )
 			{
-				final ItemStack g = ic.getStackInSlot( x );
-				if( g != null && g.stackSize > 1 )
+				final InventoryCrafting ic = new InventoryCrafting( new ContainerNull(), 3, 3 );
+				final IAEItemStack[] is = this.details.getInputs();
+				for( int x = 0; x < ic.getSizeInventory(); x++ )
 				{
-					this.fullSimulation = true;
+					ic.setInventorySlotContents( x, is[x] == null ? null : is[x].getItemStack() );
 				}
-			}
 
-			for( final IAEItemStack part : details.getCondensedInputs() )
-			{
-				final ItemStack g = part.getItemStack();
+				FMLCommonHandler.instance().firePlayerCraftingEvent( Platform.getPlayer( (WorldServer) this.world ), this.details.getOutput( ic, this.world ), ic );
 
-				boolean isAnInput = false;
-				for( final IAEItemStack a : details.getCondensedOutputs() )
+				for( int x = 0; x < ic.getSizeInventory(); x++ )
 				{
-					if( g != null && a != null && a.equals( g ) )
+					final ItemStack g = ic.getStackInSlot( x );
+					if( g != null && g.stackSize > 1 )
 					{
-						isAnInput = true;
+						this.fullSimulation = true;
 					}
 				}
+			}
+		}
 
-				if( isAnInput )
-				{
-					this.limitQty = true;
-				}
+		return this.fullSimulation;
+	}
 
-				if( g.getItem().hasContainerItem( g ) )
-				{
-					this.limitQty = this.containerItems = true;
-				}
-			}
+	int findRecursion( final ICraftingPatternDetails details )
+	{
+		return this.parent == null ? CraftingTreeNode.NO_RECURSION : this.parent.findRecursion( details );
+	}
 
-			final boolean complicated = false;
+	boolean hasAncestorIn( final Set<IAEItemStack> items )
+	{
+		return this.parent != null && this.parent.hasAncestorIn( items );
+	}
 
-			if( this.containerItems || complicated )
-			{
-				for( int x = 0; x < list.length; x++ )
-				{
-					final IAEItemStack part = list[x];
-					if( part != null )
-					{
-						this.nodes.put( new CraftingTreeNode( cc, job, part.copy(), this, x, depth + 1 ), part.getStackSize() );
-					}
-				}
-			}
-			else
-			{
-				// this is minor different then below, this slot uses the pattern, but kinda fudges it.
-				for( final IAEItemStack part : details.getCondensedInputs() )
-				{
-					for( int x = 0; x < list.length; x++ )
-					{
-						final IAEItemStack comparePart = list[x];
-						if( part != null && part.equals( comparePart ) )
-						{
-							// use the first slot...
-							this.nodes.put( new CraftingTreeNode( cc, job, part.copy(), this, x, depth + 1 ), part.getStackSize() );
-							break;
-						}
-					}
-				}
-			}
+	void collectItems( final Set<IAEItemStack> items )
+	{
+		for( final IAEItemStack is : this.details.getCondensedInputs() )
+		{
+			items.add( is );
 		}
-		else
+
+		for( final IAEItemStack is : this.details.getCondensedOutputs() )
 		{
-			for( final IAEItemStack part : details.getCondensedInputs() )
-			{
-				final ItemStack g = part.getItemStack();
+			items.add( is );
+		}
 
-				boolean isAnInput = false;
-				for( final IAEItemStack a : details.getCondensedOutputs() )
-				{
-					if( g != null && a != null && a.equals( g ) )
-					{
-						isAnInput = true;
-					}
-				}
+		items.addAll( this.subtreeItems );
+	}
 
-				if( isAnInput )
-				{
-					this.limitQty = true;
-				}
-			}
+	Set<IAEItemStack> getSubtreeItems()
+	{
+		return this.subtreeItems;
+	}
 
-			for( final IAEItemStack part : details.getCondensedInputs() )
-			{
-				this.nodes.put( new CraftingTreeNode( cc, job, part.copy(), this, -1, depth + 1 ), part.getStackSize() );
-			}
-		}
+	int getOuterRecursion()
+	{
+		return this.outerRecursion;
 	}
 
-	boolean notRecursive( final ICraftingPatternDetails details )
+	long getUnsharedSize()
 	{
-		return this.parent == null || this.parent.notRecursive( details );
+		return this.unsharedSize;
 	}
 
 	long getTimes( final long remaining, final long stackSize )
 	{
-		if( this.limitQty || this.fullSimulation )
+		if( this.limitQty || this.isFullSimulation() )
 		{
 			return 1;
 		}
@@ -188,7 +206,7 @@ public class CraftingTreeProcess
 	{
 		this.job.handlePausing();
 
-		if( this.fullSimulation )
+		if( this.isFullSimulation() )
 		{
 			final InventoryCrafting ic = new InventoryCrafting( new ContainerNull(), 3, 3 );
 
@@ -249,12 +267,12 @@ public class CraftingTreeProcess
 		this.crafts += i;
 	}
 
-	void dive( final CraftingJob job )
+	void dive( final CraftingJob job, final Set<CraftingTreeProcess> visited )
 	{
 		job.addTask( this.getAmountCrafted( this.parent.getStack( 1 ) ), this.crafts, this.details, this.depth );
 		for( final CraftingTreeNode pro : this.nodes.keySet() )
 		{
-			pro.dive( job );
+			pro.dive( job, visited );
 		}
 
 		job.addBytes( 8 + this.crafts + this.bytes );
@@ -286,28 +304,28 @@ public class CraftingTreeProcess
 		throw new IllegalStateException( "Crafting Tree construction failed." );
 	}
 
-	void setSimulate()
+	void setSimulate( final Set<CraftingTreeProcess> visited )
 	{
 		this.crafts = 0;
 		this.bytes = 0;
 
 		for( final CraftingTreeNode pro : this.nodes.keySet() )
 		{
-			pro.setSimulate();
+			pro.setSimulate( visited );
 		}
 	}
 
-	void setJob( final MECraftingInventory storage, final CraftingCPUCluster craftingCPUCluster, final BaseActionSource src ) throws CraftBranchFailure
+	void setJob( final MECraftingInventory storage, final CraftingCPUCluster craftingCPUCluster, final BaseActionSource src, final Set<CraftingTreeProcess> visited ) throws CraftBranchFailure
 	{
 		craftingCPUCluster.addCrafting( this.details, this.crafts );
 
 		for( final CraftingTreeNode pro : this.nodes.keySet() )
 		{
-			pro.setJob( storage, craftingCPUCluster, src );
+			pro.setJob( storage, craftingCPUCluster, src, visited );
 		}
 	}
 
-	void getPlan( final IItemList<IAEItemStack> plan )
+	void getPlan( final IItemList<IAEItemStack> plan, final Set<CraftingTreeProcess> visited )
 	{
 		for( IAEItemStack i : this.details.getOutputs() )
 		{
@@ -318,7 +336,29 @@ public class CraftingTreeProcess
 
 		for( final CraftingTreeNode pro : this.nodes.keySet() )
 		{
-			pro.getPlan( plan );
+			pro.getPlan( plan, visited );
+		}
+	}
+
+	private final class Branch extends RecursiveAction
+	{
+
+		private final CraftingPatternSnapshot cc;
+		private final IAEItemStack part;
+		private final int slot;
+		private CraftingTreeNode node;
+
+		private Branch( final CraftingPatternSnapshot cc, final IAEItemStack part, final int slot )
+		{
+			this.cc = cc;
+			this.part = part;
+			this.slot = slot;
+		}
+
+		@Override
+		protected void compute()
+		{
+			this.node = new CraftingTreeNode( this.cc, CraftingTreeProcess.this.job, this.part, CraftingTreeProcess.this, this.slot, CraftingTreeProcess.this.depth + 1 );
 		}
 	}
 }
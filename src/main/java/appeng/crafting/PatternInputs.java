@@ -0,0 +1,160 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.item.ItemStack;
+
+import appeng.api.networking.crafting.ICraftingPatternDetails;
+import appeng.api.storage.data.IAEItemStack;
+
+
+/**
+ * The inputs a {@link CraftingTreeProcess} requests for a pattern.
+ *
+ * Only depends on the pattern, so it is worked out once per pattern snapshot and shared by every process using the
+ * same pattern.
+ */
+final class PatternInputs
+{
+
+	private final List<IAEItemStack> parts = new ArrayList<IAEItemStack>();
+	private final List<Integer> slots = new ArrayList<Integer>();
+	private boolean containerItems;
+	private boolean limitQty;
+
+	PatternInputs( final ICraftingPatternDetails details )
+	{
+		if( details.isCraftable() )
+		{
+			final IAEItemStack[] list = details.getInputs();
+
+			for( final IAEItemStack part : details.getCondensedInputs() )
+			{
+				final ItemStack g = part.getItemStack();
+
+				if( this.isAnOutput( details, g ) )
+				{
+					this.limitQty = true;
+				}
+
+				if( g.getItem().hasContainerItem( g ) )
+				{
+					this.limitQty = this.containerItems = true;
+				}
+			}
+
+			final boolean complicated = false;
+
+			if( this.containerItems || complicated )
+			{
+				for( int x = 0; x < list.length; x++ )
+				{
+					final IAEItemStack part = list[x];
+					if( part != null )
+					{
+						this.add( part, x );
+					}
+				}
+			}
+			else
+			{
+				// this is minor different then below, this slot uses the pattern, but kinda fudges it.
+				for( final IAEItemStack part : details.getCondensedInputs() )
+				{
+					for( int x = 0; x < list.length; x++ )
+					{
+						final IAEItemStack comparePart = list[x];
+						if( part != null && part.equals( comparePart ) )
+						{
+							// use the first slot...
+							this.add( part, x );
+							break;
+						}
+					}
+				}
+			}
+		}
+		else
+		{
+			for( final IAEItemStack part : details.getCondensedInputs() )
+			{
+				if( this.isAnOutput( details, part.getItemStack() ) )
+				{
+					this.limitQty = true;
+				}
+			}
+
+			for( final IAEItemStack part : details.getCondensedInputs() )
+			{
+				this.add( part, -1 );
+			}
+		}
+	}
+
+	private boolean isAnOutput( final ICraftingPatternDetails details, final ItemStack g )
+	{
+		for( final IAEItemStack a : details.getCondensedOutputs() )
+		{
+			if( g != null && a != null && a.equals( g ) )
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void add( final IAEItemStack part, final int slot )
+	{
+		this.parts.add( part.copy() );
+		this.slots.add( slot );
+	}
+
+	int size()
+	{
+		return this.parts.size();
+	}
+
+	/**
+	 * @return a copy of the requested input, the nodes change the stack size of their item.
+	 */
+	IAEItemStack getPart( final int index )
+	{
+		return this.parts.get( index ).copy();
+	}
+
+	int getSlot( final int index )
+	{
+		return this.slots.get( index );
+	}
+
+	boolean hasContainerItems()
+	{
+		return this.containerItems;
+	}
+
+	boolean isLimitQty()
+	{
+		return this.limitQty;
+	}
+}
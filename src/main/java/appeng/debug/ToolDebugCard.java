@@ -22,6 +22,8 @@ package appeng.debug;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.google.common.base.Strings;
+
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -36,10 +38,13 @@ import net.minecraft.world.World;
 import appeng.api.networking.IGridConnection;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
+import appeng.api.networking.crafting.ICraftingCPU;
+import appeng.api.networking.crafting.ICraftingGrid;
 import appeng.api.networking.energy.IAEPowerStorage;
 import appeng.api.networking.energy.IEnergyGrid;
 import appeng.api.networking.pathing.ControllerState;
 import appeng.api.networking.pathing.IPathingGrid;
+import appeng.api.networking.storage.IStorageGrid;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.parts.IPart;
 import appeng.api.parts.IPartHost;
@@ -48,7 +53,11 @@ import appeng.hooks.TickHandler;
 import appeng.items.AEBaseItem;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.me.cache.GridStorageCache;
+import appeng.me.cache.NetworkMonitor;
 import appeng.me.cache.TickManagerCache;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.storage.NetworkInventoryHandler;
 import appeng.parts.p2p.PartP2PTunnel;
 import appeng.tile.networking.TileController;
 import appeng.util.Platform;
@@ -157,6 +166,31 @@ public class ToolDebugCard extends AEBaseItem
 							this.outputMsg( player, c.getSimpleName() + " - " + o + "; " + this.timeMeasurement( nanos ) );
 						}
 					}
+
+					final IStorageGrid sg = g.getCache( IStorageGrid.class );
+					if( sg.getItemInventory() instanceof NetworkMonitor )
+					{
+						final NetworkMonitor<?> monitor = (NetworkMonitor<?>) sg.getItemInventory();
+						this.outputMsg( player, "Storage List: " + monitor.getFullRebuilds() + " rebuilds, " + monitor.getIncrementalUpdates() + " incremental updates" );
+					}
+
+					if( sg instanceof GridStorageCache && ( (GridStorageCache) sg ).getItemInventoryHandler() instanceof NetworkInventoryHandler )
+					{
+						final NetworkInventoryHandler<?> handler = (NetworkInventoryHandler<?>) ( (GridStorageCache) sg ).getItemInventoryHandler();
+						this.outputMsg( player, "Handlers visited: " + handler.getAverageInjectVisits() + " per inject, " + handler.getAverageExtractVisits() + " per extract" );
+					}
+
+					final ICraftingGrid cg = g.getCache( ICraftingGrid.class );
+					for( final ICraftingCPU cpu : cg.getCpus() )
+					{
+						if( cpu instanceof CraftingCPUCluster )
+						{
+							final CraftingCPUCluster cluster = (CraftingCPUCluster) cpu;
+							// unnamed CPUs are told apart by the corner they start at.
+							final String label = Strings.isNullOrEmpty( cluster.getName() ) ? "at " + cluster.getBoundsMin() : cluster.getName();
+							this.outputMsg( player, "Crafting CPU " + label + ": " + cluster.getScheduledTaskCount() + " tasks, " + cluster.getReadyTaskCount() + " ready, " + cluster.getBlockedTaskCount() + " blocked" );
+						}
+					}
 				}
 				else
 				{
@@ -20,11 +20,12 @@ package appeng.helpers;
 
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
@@ -48,8 +49,7 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 {
 
 	private final ItemStack patternItem;
-	private final InventoryCrafting crafting = new InventoryCrafting( new ContainerNull(), 3, 3 );
-	private final InventoryCrafting testFrame = new InventoryCrafting( new ContainerNull(), 3, 3 );
+	private final InventoryCrafting crafting;
 	private final ItemStack correctOutput;
 	private final IRecipe standardRecipe;
 	private final IAEItemStack[] condensedInputs;
@@ -58,8 +58,8 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 	private final IAEItemStack[] outputs;
 	private final boolean isCrafting;
 	private final boolean canSubstitute;
-	private final Set<TestLookup> failCache = new HashSet<TestLookup>();
-	private final Set<TestLookup> passCache = new HashSet<TestLookup>();
+	private final Set<TestLookup> failCache;
+	private final Set<TestLookup> passCache;
 	private final IAEItemStack pattern;
 	private int priority = 0;
 
@@ -79,6 +79,9 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 		this.canSubstitute = this.isCrafting && encodedValue.getBoolean( "substitute" );
 		this.patternItem = is;
 		this.pattern = AEItemStack.create( is );
+		this.crafting = new InventoryCrafting( new ContainerNull(), 3, 3 );
+		this.failCache = Collections.newSetFromMap( new ConcurrentHashMap<TestLookup, Boolean>() );
+		this.passCache = Collections.newSetFromMap( new ConcurrentHashMap<TestLookup, Boolean>() );
 
 		final List<IAEItemStack> in = new ArrayList<IAEItemStack>();
 		final List<IAEItemStack> out = new ArrayList<IAEItemStack>();
@@ -95,7 +98,6 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 			}
 
 			in.add( AEApi.instance().storage().createItemStack( gs ) );
-			this.testFrame.setInventorySlotContents( x, gs );
 		}
 
 		if( this.isCrafting )
@@ -197,6 +199,33 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 		}
 	}
 
+	private PatternHelper( final PatternHelper decoded, final ItemStack is )
+	{
+		this.patternItem = is;
+		this.pattern = decoded.pattern;
+		this.crafting = decoded.crafting;
+		this.correctOutput = decoded.correctOutput;
+		this.standardRecipe = decoded.standardRecipe;
+		this.condensedInputs = decoded.condensedInputs;
+		this.condensedOutputs = decoded.condensedOutputs;
+		this.inputs = decoded.inputs;
+		this.outputs = decoded.outputs;
+		this.isCrafting = decoded.isCrafting;
+		this.canSubstitute = decoded.canSubstitute;
+		this.failCache = decoded.failCache;
+		this.passCache = decoded.passCache;
+	}
+
+	/**
+	 * Creates the details for another stack of the same pattern, without decoding it again.
+	 *
+	 * The decoded inputs, outputs and the slot test results are shared, the priority is not.
+	 */
+	public PatternHelper forPattern( final ItemStack is )
+	{
+		return new PatternHelper( this, is );
+	}
+
 	private void markItemAs( final int slotIndex, final ItemStack i, final TestStatus b )
 	{
 		if( b == TestStatus.TEST || i.hasTagCompound() )
@@ -214,7 +243,7 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 	}
 
 	@Override
-	public synchronized boolean isValidItemForSlot( final int slotIndex, final ItemStack i, final World w )
+	public boolean isValidItemForSlot( final int slotIndex, final ItemStack i, final World w )
 	{
 		if( !this.isCrafting )
 		{
@@ -234,31 +263,32 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 				break;
 		}
 
+		// the frame is per test, so several crafting calculations can test the same pattern at once.
+		final InventoryCrafting testFrame = new InventoryCrafting( new ContainerNull(), 3, 3 );
+
 		for( int x = 0; x < this.crafting.getSizeInventory(); x++ )
 		{
-			this.testFrame.setInventorySlotContents( x, this.crafting.getStackInSlot( x ) );
+			testFrame.setInventorySlotContents( x, this.crafting.getStackInSlot( x ) );
 		}
 
-		this.testFrame.setInventorySlotContents( slotIndex, i );
+		testFrame.setInventorySlotContents( slotIndex, i );
 
-		if( this.standardRecipe.matches( this.testFrame, w ) )
+		if( this.standardRecipe.matches( testFrame, w ) )
 		{
-			final ItemStack testOutput = this.standardRecipe.getCraftingResult( this.testFrame );
+			final ItemStack testOutput = this.standardRecipe.getCraftingResult( testFrame );
 
 			if( Platform.isSameItemPrecise( this.correctOutput, testOutput ) )
 			{
-				this.testFrame.setInventorySlotContents( slotIndex, this.crafting.getStackInSlot( slotIndex ) );
 				this.markItemAs( slotIndex, i, TestStatus.ACCEPT );
 				return true;
 			}
 		}
 		else
 		{
-			final ItemStack testOutput = CraftingManager.getInstance().findMatchingRecipe( this.testFrame, w );
+			final ItemStack testOutput = CraftingManager.getInstance().findMatchingRecipe( testFrame, w );
 
 			if( Platform.isSameItemPrecise( this.correctOutput, testOutput ) )
 			{
-				this.testFrame.setInventorySlotContents( slotIndex, this.crafting.getStackInSlot( slotIndex ) );
 				this.markItemAs( slotIndex, i, TestStatus.ACCEPT );
 				return true;
 			}
@@ -19,19 +19,32 @@
 package appeng.hooks;
 
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
-
+import com.google.common.collect.SetMultimap;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -43,14 +56,22 @@ import net.minecraftforge.fml.common.gameevent.TickEvent.WorldTickEvent;
 import appeng.api.AEApi;
 import appeng.api.networking.IGridNode;
 import appeng.api.parts.CableRenderMode;
+import appeng.api.parts.IPart;
+import appeng.api.parts.IPartHost;
 import appeng.api.util.AEColor;
+import appeng.api.util.AEPartLocation;
 import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.CommonHelper;
+import appeng.core.sync.network.NetworkHandler;
+import appeng.core.sync.packets.PacketCableChannels;
 import appeng.core.sync.packets.PacketPaintedEntity;
+import appeng.core.worlddata.WorldData;
 import appeng.crafting.CraftingJob;
 import appeng.me.Grid;
 import appeng.me.NetworkList;
+import appeng.me.cluster.MBCalculator;
+import appeng.parts.networking.PartCable;
 import appeng.tile.AEBaseTile;
 import appeng.util.IWorldCallable;
 import appeng.util.Platform;
@@ -115,6 +136,33 @@ public class TickHandler
 		return this.client;
 	}
 
+	public void addMultiblock( final MBCalculator calc )
+	{
+		if( Platform.isServer() )
+		{
+			this.getRepo().multiblocks.add( calc );
+		}
+	}
+
+	public void addCableUpdate( final PartCable cable )
+	{
+		final TileEntity te = cable.getTile();
+
+		if( Platform.isServer() && te != null && te.getWorld() != null )
+		{
+			final BlockPos pos = te.getPos();
+			SetMultimap<ChunkPos, BlockPos> updates = this.getRepo().cableUpdates.get( te.getWorld() );
+
+			if( updates == null )
+			{
+				updates = HashMultimap.create();
+				this.getRepo().cableUpdates.put( te.getWorld(), updates );
+			}
+
+			updates.put( new ChunkPos( pos ), pos );
+		}
+	}
+
 	public void addNetwork( final Grid grid )
 	{
 		if( Platform.isServer() ) // for no there is no reason to care about this on the client...
@@ -166,6 +214,15 @@ public class TickHandler
 		}
 	}
 
+	@SubscribeEvent
+	public void saveWorld( final WorldEvent.Save ev )
+	{
+		if( Platform.isServer() && WorldData.instance() != null )
+		{
+			WorldData.instance().spawnData().flush();
+		}
+	}
+
 	@SubscribeEvent
 	public void onChunkLoad( final ChunkEvent.Load load )
 	{
@@ -230,12 +287,23 @@ public class TickHandler
 				}
 			}
 
+			// multiblocks changed since the last tick, including the ones of the tiles above.
+			if( !repo.multiblocks.isEmpty() )
+			{
+				final List<MBCalculator> multiblocks = repo.multiblocks;
+				repo.multiblocks = new ArrayList<MBCalculator>();
+				MBCalculator.calculateQueued( multiblocks );
+			}
+
 			// tick networks.
 			for( final Grid g : this.getRepo().networks )
 			{
 				g.update();
 			}
 
+			// channel changes of cables, after the networks had a chance to repath.
+			this.sendCableUpdates( repo );
+
 			// cross world queue.
 			this.processQueue( this.serverQueue, null );
 		}
@@ -249,6 +317,82 @@ public class TickHandler
 		}
 	}
 
+	private void sendCableUpdates( final HandlerRep repo )
+	{
+		for( final Map.Entry<World, SetMultimap<ChunkPos, BlockPos>> worldUpdates : repo.cableUpdates.entrySet() )
+		{
+			final World world = worldUpdates.getKey();
+
+			if( !( world instanceof WorldServer ) )
+			{
+				continue;
+			}
+
+			final PlayerChunkMap watchers = ( (WorldServer) world ).getPlayerChunkMap();
+
+			for( final ChunkPos chunk : worldUpdates.getValue().keySet() )
+			{
+				final List<EntityPlayerMP> players = new ArrayList<EntityPlayerMP>();
+
+				for( final EntityPlayer player : world.playerEntities )
+				{
+					if( player instanceof EntityPlayerMP && watchers.isPlayerWatchingChunk( (EntityPlayerMP) player, chunk.chunkXPos, chunk.chunkZPos ) )
+					{
+						players.add( (EntityPlayerMP) player );
+					}
+				}
+
+				if( players.isEmpty() )
+				{
+					continue;
+				}
+
+				final List<PartCable> cables = new ArrayList<PartCable>();
+
+				for( final BlockPos pos : worldUpdates.getValue().get( chunk ) )
+				{
+					if( !world.isBlockLoaded( pos ) )
+					{
+						continue;
+					}
+
+					final TileEntity te = world.getTileEntity( pos );
+
+					if( te instanceof IPartHost )
+					{
+						final IPart part = ( (IPartHost) te ).getPart( AEPartLocation.INTERNAL );
+
+						if( part instanceof PartCable )
+						{
+							cables.add( (PartCable) part );
+						}
+					}
+				}
+
+				if( cables.isEmpty() )
+				{
+					continue;
+				}
+
+				try
+				{
+					final PacketCableChannels packet = new PacketCableChannels( chunk, cables );
+
+					for( final EntityPlayerMP player : players )
+					{
+						NetworkHandler.instance.sendTo( packet, player );
+					}
+				}
+				catch( final IOException e )
+				{
+					AELog.debug( e );
+				}
+			}
+		}
+
+		repo.cableUpdates.clear();
+	}
+
 	private void tickColors( final HashMap<Integer, PlayerColor> playerSet )
 	{
 		final Iterator<PlayerColor> i = playerSet.values().iterator();
@@ -310,10 +454,16 @@ public class TickHandler
 
 		private Collection<Grid> networks = new NetworkList();
 
+		private List<MBCalculator> multiblocks = new ArrayList<MBCalculator>();
+
+		private Map<World, SetMultimap<ChunkPos, BlockPos>> cableUpdates = new HashMap<World, SetMultimap<ChunkPos, BlockPos>>();
+
 		private void clear()
 		{
 			this.tiles = new LinkedList<AEBaseTile>();
 			this.networks = new NetworkList();
+			this.multiblocks = new ArrayList<MBCalculator>();
+			this.cableUpdates = new HashMap<World, SetMultimap<ChunkPos, BlockPos>>();
 		}
 	}
 
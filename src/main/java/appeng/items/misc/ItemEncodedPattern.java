@@ -23,9 +23,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.EnumActionResult;
 import net.minecraft.util.EnumFacing;
@@ -50,6 +54,11 @@ public class ItemEncodedPattern extends AEBaseItem implements ICraftingPatternIt
 	// rather simple client side caching.
 	private static final Map<ItemStack, ItemStack> SIMPLE_CACHE = new WeakHashMap<ItemStack, ItemStack>();
 
+	/**
+	 * Decoded patterns by the identity of their encoded tag, the tag is replaced when a pattern is encoded again.
+	 */
+	private static final Cache<NBTTagCompound, PatternHelper> DECODED_CACHE = CacheBuilder.newBuilder().weakKeys().maximumSize( 4096 ).build();
+
 	public ItemEncodedPattern()
 	{
 		this.setMaxStackSize( 1 );
@@ -154,9 +163,25 @@ public class ItemEncodedPattern extends AEBaseItem implements ICraftingPatternIt
 	@Override
 	public ICraftingPatternDetails getPatternForItem( final ItemStack is, final World w )
 	{
+		final NBTTagCompound encodedValue = is.getTagCompound();
+
+		if( encodedValue == null )
+		{
+			return null;
+		}
+
 		try
 		{
-			return new PatternHelper( is, w );
+			PatternHelper decoded = DECODED_CACHE.getIfPresent( encodedValue );
+
+			if( decoded == null )
+			{
+				// decode a copy, the cached details must not keep the tag they are keyed on alive.
+				decoded = new PatternHelper( is.copy(), w );
+				DECODED_CACHE.put( encodedValue, decoded );
+			}
+
+			return decoded.forPattern( is );
 		}
 		catch( final Throwable t )
 		{
@@ -19,9 +19,13 @@
 package appeng.me;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -109,6 +113,35 @@ public class Grid implements IGrid
 			c.removeNode( gridNode, machine );
 		}
 
+		this.untrack( gridNode );
+
+		if( this.pivot == gridNode )
+		{
+			this.choosePivot();
+		}
+	}
+
+	private void removeNodes( final List<GridNode> gridNodes )
+	{
+		final Collection<IGridNode> removed = Collections.<IGridNode>unmodifiableList( gridNodes );
+		for( final IGridCache c : this.caches.values() )
+		{
+			c.removeNodes( removed );
+		}
+
+		for( final GridNode gridNode : gridNodes )
+		{
+			this.untrack( gridNode );
+		}
+
+		if( gridNodes.contains( this.pivot ) )
+		{
+			this.choosePivot();
+		}
+	}
+
+	private void untrack( final GridNode gridNode )
+	{
 		final Class<? extends IGridHost> machineClass = gridNode.getMachineClass();
 		final Set<IGridNode> nodes = this.machines.get( machineClass );
 		if( nodes != null )
@@ -116,25 +149,106 @@ public class Grid implements IGrid
 			nodes.remove( gridNode );
 		}
 
+		this.eventBus.invalidateSubscribers();
 		gridNode.setGridStorage( null );
+	}
 
-		if( this.pivot == gridNode )
+	private void choosePivot()
+	{
+		final Iterator<IGridNode> n = this.getNodes().iterator();
+		if( n.hasNext() )
 		{
-			final Iterator<IGridNode> n = this.getNodes().iterator();
-			if( n.hasNext() )
+			this.pivot = (GridNode) n.next();
+		}
+		else
+		{
+			this.pivot = null;
+			TickHandler.INSTANCE.removeNetwork( this );
+			this.myStorage.remove();
+		}
+	}
+
+	void add( final GridNode gridNode )
+	{
+		this.track( gridNode );
+
+		for( final IGridCache cache : this.caches.values() )
+		{
+			final IGridHost machine = gridNode.getMachine();
+			cache.addNode( gridNode, machine );
+		}
+
+		gridNode.getGridProxy().gridChanged();
+		// postEventTo( gridNode, networkChanged );
+	}
+
+	/**
+	 * Moves a group of nodes into this grid. The caches of every grid they leave and of this grid are updated once for
+	 * the whole group, instead of once per node.
+	 */
+	void addNodes( final List<GridNode> gridNodes )
+	{
+		final Map<Grid, List<GridNode>> sources = new LinkedHashMap<Grid, List<GridNode>>();
+		final List<GridNode> added = new ArrayList<GridNode>( gridNodes.size() );
+
+		for( final GridNode gridNode : gridNodes )
+		{
+			final Grid source = gridNode.getMyGrid();
+
+			if( source == this )
 			{
-				this.pivot = (GridNode) n.next();
+				continue;
 			}
-			else
+
+			added.add( gridNode );
+
+			if( source != null )
 			{
-				this.pivot = null;
-				TickHandler.INSTANCE.removeNetwork( this );
-				this.myStorage.remove();
+				List<GridNode> leaving = sources.get( source );
+				if( leaving == null )
+				{
+					leaving = new ArrayList<GridNode>();
+					sources.put( source, leaving );
+				}
+				leaving.add( gridNode );
 			}
 		}
+
+		for( final Entry<Grid, List<GridNode>> e : sources.entrySet() )
+		{
+			final Grid source = e.getKey();
+			source.removeNodes( e.getValue() );
+
+			if( source.isEmpty() )
+			{
+				source.saveState();
+
+				for( final IGridCache c : this.caches.values() )
+				{
+					c.onJoin( source.getMyStorage() );
+				}
+			}
+		}
+
+		for( final GridNode gridNode : added )
+		{
+			gridNode.setMyGrid( this );
+			this.track( gridNode );
+		}
+
+		final Collection<IGridNode> joined = Collections.<IGridNode>unmodifiableList( added );
+		for( final IGridCache cache : this.caches.values() )
+		{
+			cache.addNodes( joined );
+		}
+
+		for( final GridNode gridNode : added )
+		{
+			gridNode.getGridProxy().gridChanged();
+		}
 	}
 
-	void add( final GridNode gridNode )
+	private void track( final GridNode gridNode )
 	{
 		final Class<? extends IGridHost> mClass = gridNode.getMachineClass();
 
@@ -198,15 +312,7 @@ public class Grid implements IGrid
 
 		// track node.
 		nodes.add( gridNode );
-
-		for( final IGridCache cache : this.caches.values() )
-		{
-			final IGridHost machine = gridNode.getMachine();
-			cache.addNode( gridNode, machine );
-		}
-
-		gridNode.getGridProxy().gridChanged();
-		// postEventTo( gridNode, networkChanged );
+		this.eventBus.invalidateSubscribers();
 	}
 
 	@Override
@@ -19,6 +19,8 @@
 package appeng.me;
 
 
+import java.util.Collection;
+
 import appeng.api.networking.IGridCache;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
@@ -55,6 +57,18 @@ public class GridCacheWrapper implements IGridCache
 		this.getCache().addNode( gridNode, machine );
 	}
 
+	@Override
+	public void removeNodes( final Collection<IGridNode> gridNodes )
+	{
+		this.getCache().removeNodes( gridNodes );
+	}
+
+	@Override
+	public void addNodes( final Collection<IGridNode> gridNodes )
+	{
+		this.getCache().addNodes( gridNodes );
+	}
+
 	@Override
 	public void onSplit( final IGridStorage storageB )
 	{
@@ -37,6 +37,7 @@ import appeng.api.util.IReadOnlyCollection;
 import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.features.AEFeature;
+import appeng.me.cache.PathGridCache;
 import appeng.me.pathfinding.IPathItem;
 import appeng.util.Platform;
 import appeng.util.ReadOnlyCollection;
@@ -103,27 +104,30 @@ public class GridConnection implements IGridConnection, IPathItem
 			{
 				final GridPropagator gp = new GridPropagator( b.getInternalGrid() );
 				a.beginVisit( gp );
+				gp.propagate();
 			}
 			else if( b.getMyGrid() == null )
 			{
 				final GridPropagator gp = new GridPropagator( a.getInternalGrid() );
 				b.beginVisit( gp );
+				gp.propagate();
 			}
 			else if( this.isNetworkABetter( a, b ) )
 			{
 				final GridPropagator gp = new GridPropagator( a.getInternalGrid() );
 				b.beginVisit( gp );
+				gp.propagate();
 			}
 			else
 			{
 				final GridPropagator gp = new GridPropagator( b.getInternalGrid() );
 				a.beginVisit( gp );
+				gp.propagate();
 			}
 		}
 
-		// a connection was destroyed RE-PATH!!
-		final IPathingGrid p = this.sideA.getInternalGrid().getCache( IPathingGrid.class );
-		p.repath();
+		final PathGridCache p = this.sideA.getInternalGrid().getCache( IPathingGrid.class );
+		p.connectionAdded( this );
 
 		this.sideA.addConnection( this );
 		this.sideB.addConnection( this );
@@ -171,8 +175,8 @@ public class GridConnection implements IGridConnection, IPathItem
 	public void destroy()
 	{
 		// a connection was destroyed RE-PATH!!
-		final IPathingGrid p = this.sideA.getInternalGrid().getCache( IPathingGrid.class );
-		p.repath();
+		final PathGridCache p = this.sideA.getInternalGrid().getCache( IPathingGrid.class );
+		p.connectionRemoved( this );
 
 		this.sideA.removeConnection( this );
 		this.sideB.removeConnection( this );
@@ -91,6 +91,11 @@ public class GridNode implements IGridNode, IPathItem
 		return this.myGrid;
 	}
 
+	void setMyGrid( final Grid grid )
+	{
+		this.myGrid = grid;
+	}
+
 	public int usedChannels()
 	{
 		return this.lastUsedChannels;
@@ -141,8 +146,9 @@ public class GridNode implements IGridNode, IPathItem
 		this.beginVisit( gsd );
 		if( !gsd.isPivotFound() )
 		{
-			final IGridVisitor gp = new GridPropagator( new Grid( this ) );
+			final GridPropagator gp = new GridPropagator( new Grid( this ) );
 			this.beginVisit( gp );
+			gp.propagate();
 		}
 	}
 
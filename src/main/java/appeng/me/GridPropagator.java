@@ -19,6 +19,9 @@
 package appeng.me;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridVisitor;
 
@@ -26,6 +29,7 @@ import appeng.api.networking.IGridVisitor;
 public class GridPropagator implements IGridVisitor
 {
 	private final Grid g;
+	private final List<GridNode> nodes = new ArrayList<GridNode>();
 
 	public GridPropagator( final Grid g )
 	{
@@ -38,10 +42,19 @@ public class GridPropagator implements IGridVisitor
 		final GridNode gn = (GridNode) n;
 		if( gn.getMyGrid() != this.g || this.g.getPivot() == n )
 		{
-			gn.setGrid( this.g );
+			this.nodes.add( gn );
 
 			return true;
 		}
 		return false;
 	}
+
+	/**
+	 * Moves all visited nodes into the grid at once.
+	 */
+	public void propagate()
+	{
+		this.g.addNodes( this.nodes );
+		this.nodes.clear();
+	}
 }
@@ -19,6 +19,9 @@
 package appeng.me;
 
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -38,6 +41,17 @@ public class NetworkEventBus
 {
 	private static final Collection<Class> READ_CLASSES = new HashSet<Class>();
 	private static final Map<Class<? extends MENetworkEvent>, Map<Class, MENetworkEventInfo>> EVENTS = new HashMap<Class<? extends MENetworkEvent>, Map<Class, MENetworkEventInfo>>();
+	private static final MethodType INVOKER_TYPE = MethodType.methodType( void.class, Object.class, MENetworkEvent.class );
+
+	/**
+	 * caches and machines of the grid subscribed to each event, built on the first post after the machines changed.
+	 */
+	private final Map<Class<? extends MENetworkEvent>, Subscriber[]> subscribers = new HashMap<Class<? extends MENetworkEvent>, Subscriber[]>();
+
+	void invalidateSubscribers()
+	{
+		this.subscribers.clear();
+	}
 
 	void readClass( final Class listAs, final Class c )
 	{
@@ -96,29 +110,21 @@ public class NetworkEventBus
 
 	MENetworkEvent postEvent( final Grid g, final MENetworkEvent e )
 	{
-		final Map<Class, MENetworkEventInfo> subscribers = EVENTS.get( e.getClass() );
+		Subscriber[] targets = this.subscribers.get( e.getClass() );
+		if( targets == null )
+		{
+			targets = this.findSubscribers( g, e.getClass() );
+			this.subscribers.put( e.getClass(), targets );
+		}
+
 		int x = 0;
 
 		try
 		{
-			if( subscribers != null )
+			for( final Subscriber subscriber : targets )
 			{
-				for( final Entry<Class, MENetworkEventInfo> subscriber : subscribers.entrySet() )
-				{
-					final MENetworkEventInfo target = subscriber.getValue();
-					final GridCacheWrapper cache = g.getCaches().get( subscriber.getKey() );
-					if( cache != null )
-					{
-						x++;
-						target.invoke( cache.getCache(), e );
-					}
-
-					for( final IGridNode obj : g.getMachines( subscriber.getKey() ) )
-					{
-						x++;
-						target.invoke( obj.getMachine(), e );
-					}
-				}
+				x++;
+				subscriber.info.invoke( subscriber.obj, e );
 			}
 		}
 		catch( final NetworkEventDone done )
@@ -130,6 +136,32 @@ public class NetworkEventBus
 		return e;
 	}
 
+	private Subscriber[] findSubscribers( final Grid g, final Class<? extends MENetworkEvent> event )
+	{
+		final Map<Class, MENetworkEventInfo> subscribers = EVENTS.get( event );
+		final List<Subscriber> found = new ArrayList<Subscriber>();
+
+		if( subscribers != null )
+		{
+			for( final Entry<Class, MENetworkEventInfo> subscriber : subscribers.entrySet() )
+			{
+				final MENetworkEventInfo target = subscriber.getValue();
+				final GridCacheWrapper cache = g.getCaches().get( subscriber.getKey() );
+				if( cache != null )
+				{
+					found.add( new Subscriber( target, cache.getCache() ) );
+				}
+
+				for( final IGridNode obj : g.getMachines( subscriber.getKey() ) )
+				{
+					found.add( new Subscriber( target, obj.getMachine() ) );
+				}
+			}
+		}
+
+		return found.toArray( new Subscriber[found.size()] );
+	}
+
 	MENetworkEvent postEventTo( final Grid grid, final GridNode node, final MENetworkEvent e )
 	{
 		final Map<Class, MENetworkEventInfo> subscribers = EVENTS.get( e.getClass() );
@@ -162,25 +194,41 @@ public class NetworkEventBus
 		private static final long serialVersionUID = -3079021487019171205L;
 	}
 
+	private static class Subscriber
+	{
+
+		private final MENetworkEventInfo info;
+		private final Object obj;
+
+		public Subscriber( final MENetworkEventInfo info, final Object obj )
+		{
+			this.info = info;
+			this.obj = obj;
+		}
+	}
+
 	private class EventMethod
 	{
 
 		private final Class objClass;
-		private final Method objMethod;
+		private final MethodHandle objMethod;
 		private final Class objEvent;
 
-		public EventMethod( final Class Event, final Class ObjClass, final Method ObjMethod )
+		public EventMethod( final Class Event, final Class ObjClass, final Method ObjMethod ) throws IllegalAccessException
 		{
 			this.objClass = ObjClass;
-			this.objMethod = ObjMethod;
 			this.objEvent = Event;
+
+			// resolved once, so posting skips the access checks and argument boxing of Method.invoke.
+			ObjMethod.setAccessible( true );
+			this.objMethod = MethodHandles.lookup().unreflect( ObjMethod ).asType( INVOKER_TYPE );
 		}
 
 		private void invoke( final Object obj, final MENetworkEvent e ) throws NetworkEventDone
 		{
 			try
 			{
-				this.objMethod.invoke( obj, e );
+				this.objMethod.invokeExact( obj, e );
 			}
 			catch( final Throwable e1 )
 			{
@@ -203,7 +251,7 @@ public class NetworkEventBus
 
 		private final List<EventMethod> methods = new ArrayList<EventMethod>();
 
-		private void Add( final Class Event, final Class ObjClass, final Method ObjMethod )
+		private void Add( final Class Event, final Class ObjClass, final Method ObjMethod ) throws IllegalAccessException
 		{
 			this.methods.add( new EventMethod( Event, ObjClass, ObjMethod ) );
 		}
@@ -28,7 +28,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutorService;
@@ -78,6 +77,7 @@ import appeng.api.storage.data.IItemList;
 import appeng.crafting.CraftingJob;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.CraftingPatternSnapshot;
 import appeng.crafting.CraftingWatcher;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.GenericInterestManager;
@@ -119,6 +119,13 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 	private final Map<ICraftingPatternDetails, List<ICraftingMedium>> craftingMethods = new HashMap<ICraftingPatternDetails, List<ICraftingMedium>>();
 	private final Map<IAEItemStack, ImmutableList<ICraftingPatternDetails>> craftableItems = new HashMap<IAEItemStack, ImmutableList<ICraftingPatternDetails>>();
 	private final Set<IAEItemStack> emitableItems = new HashSet<IAEItemStack>();
+	private final Map<IAEItemStack, Integer> emitableProviders = new HashMap<IAEItemStack, Integer>();
+	private final Map<IAEItemStack, Set<ICraftingPatternDetails>> patternsByOutput = new HashMap<IAEItemStack, Set<ICraftingPatternDetails>>();
+	private final Map<ICraftingProvider, ProvidedPatterns> providedPatterns = new HashMap<ICraftingProvider, ProvidedPatterns>();
+	private final Set<ICraftingProvider> dirtyProviders = new HashSet<ICraftingProvider>();
+	private final Set<IAEItemStack> changedOutputs = new HashSet<IAEItemStack>();
+	private ProvidedPatterns collecting;
+	private CraftingPatternSnapshot patternSnapshot;
 	private final Map<String, CraftingLinkNexus> craftingLinks = new HashMap<String, CraftingLinkNexus>();
 	private final Multimap<IAEStack, CraftingWatcher> interests = HashMultimap.create();
 	private final GenericInterestManager<CraftingWatcher> interestManager = new GenericInterestManager<CraftingWatcher>( this.interests );
@@ -143,6 +150,8 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 	@Override
 	public void onUpdateTick()
 	{
+		this.updatePatterns();
+
 		if( this.updateList )
 		{
 			this.updateList = false;
@@ -196,7 +205,7 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 		if( machine instanceof ICraftingProvider )
 		{
 			this.craftingProviders.remove( machine );
-			this.updatePatterns();
+			this.dirtyProviders.add( (ICraftingProvider) machine );
 		}
 	}
 
@@ -230,7 +239,7 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 		if( machine instanceof ICraftingProvider )
 		{
 			this.craftingProviders.add( (ICraftingProvider) machine );
-			this.updatePatterns();
+			this.dirtyProviders.add( (ICraftingProvider) machine );
 		}
 	}
 
@@ -251,53 +260,128 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 		// nothing!
 	}
 
+	/**
+	 * Re-queries only the providers that changed since the last tick and updates the outputs they affected, so many
+	 * provider changes within a tick result in a single update.
+	 */
 	private void updatePatterns()
 	{
-		final Map<IAEItemStack, ImmutableList<ICraftingPatternDetails>> oldItems = this.craftableItems;
+		if( this.dirtyProviders.isEmpty() )
+		{
+			return;
+		}
+
+		final List<ICraftingProvider> providers = new ArrayList<ICraftingProvider>( this.dirtyProviders );
+		this.dirtyProviders.clear();
 
-		// erase list.
-		this.craftingMethods.clear();
-		this.craftableItems.clear();
-		this.emitableItems.clear();
+		for( final ICraftingProvider provider : providers )
+		{
+			this.removeProvidedPatterns( provider );
 
-		// update the stuff that was in the list...
-		this.storageGrid.postAlterationOfStoredItems( StorageChannel.ITEMS, oldItems.keySet(), new BaseActionSource() );
+			if( this.craftingProviders.contains( provider ) )
+			{
+				this.collecting = new ProvidedPatterns();
+				provider.provideCrafting( this );
+				this.providedPatterns.put( provider, this.collecting );
+				this.collecting = null;
+			}
+		}
 
-		// re-create list..
-		for( final ICraftingProvider provider : this.craftingProviders )
+		if( this.changedOutputs.isEmpty() )
 		{
-			provider.provideCrafting( this );
+			return;
 		}
 
-		final Map<IAEItemStack, Set<ICraftingPatternDetails>> tmpCraft = new HashMap<IAEItemStack, Set<ICraftingPatternDetails>>();
+		this.patternSnapshot = null;
 
-		// new craftables!
-		for( final ICraftingPatternDetails details : this.craftingMethods.keySet() )
+		for( final IAEItemStack out : this.changedOutputs )
 		{
-			for( IAEItemStack out : details.getOutputs() )
+			final Set<ICraftingPatternDetails> patterns = this.patternsByOutput.get( out );
+
+			if( patterns == null )
 			{
-				out = out.copy();
-				out.reset();
-				out.setCraftable( true );
+				this.craftableItems.remove( out );
+			}
+			else
+			{
+				final Set<ICraftingPatternDetails> methods = new TreeSet<ICraftingPatternDetails>( COMPARATOR );
+				methods.addAll( patterns );
+				this.craftableItems.put( out, ImmutableList.copyOf( methods ) );
+			}
+		}
 
-				Set<ICraftingPatternDetails> methods = tmpCraft.get( out );
+		final List<IAEItemStack> changes = new ArrayList<IAEItemStack>( this.changedOutputs );
+		this.changedOutputs.clear();
 
-				if( methods == null )
+		this.storageGrid.postAlterationOfStoredItems( StorageChannel.ITEMS, changes, new BaseActionSource() );
+	}
+
+	private void removeProvidedPatterns( final ICraftingProvider provider )
+	{
+		final ProvidedPatterns provided = this.providedPatterns.remove( provider );
+
+		if( provided == null )
+		{
+			return;
+		}
+
+		for( int x = 0; x < provided.patterns.size(); x++ )
+		{
+			final ICraftingPatternDetails details = provided.patterns.get( x );
+			final List<ICraftingMedium> mediums = this.craftingMethods.get( details );
+
+			if( mediums == null )
+			{
+				continue;
+			}
+
+			mediums.remove( provided.mediums.get( x ) );
+
+			if( mediums.isEmpty() )
+			{
+				this.craftingMethods.remove( details );
+
+				for( final IAEItemStack out : details.getOutputs() )
 				{
-					tmpCraft.put( out, methods = new TreeSet<ICraftingPatternDetails>( COMPARATOR ) );
-				}
+					final IAEItemStack key = craftableKey( out );
+					final Set<ICraftingPatternDetails> patterns = this.patternsByOutput.get( key );
 
-				methods.add( details );
+					if( patterns != null && patterns.remove( details ) )
+					{
+						if( patterns.isEmpty() )
+						{
+							this.patternsByOutput.remove( key );
+						}
+
+						this.changedOutputs.add( key );
+					}
+				}
 			}
 		}
 
-		// make them immutable
-		for( final Entry<IAEItemStack, Set<ICraftingPatternDetails>> e : tmpCraft.entrySet() )
+		for( final IAEItemStack emitable : provided.emitables )
 		{
-			this.craftableItems.put( e.getKey(), ImmutableList.copyOf( e.getValue() ) );
+			final Integer count = this.emitableProviders.get( emitable );
+
+			if( count == null || count <= 1 )
+			{
+				this.emitableProviders.remove( emitable );
+				this.emitableItems.remove( emitable );
+				this.changedOutputs.add( craftableKey( emitable ) );
+			}
+			else
+			{
+				this.emitableProviders.put( emitable, count - 1 );
+			}
 		}
+	}
 
-		this.storageGrid.postAlterationOfStoredItems( StorageChannel.ITEMS, this.craftableItems.keySet(), new BaseActionSource() );
+	private static IAEItemStack craftableKey( final IAEItemStack out )
+	{
+		final IAEItemStack key = out.copy();
+		key.reset();
+		key.setCraftable( true );
+		return key;
 	}
 
 	private void updateCPUClusters()
@@ -345,18 +429,51 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 	@MENetworkEventSubscribe
 	public void updateCPUClusters( final MENetworkCraftingPatternChange c )
 	{
-		this.updatePatterns();
+		final IGridHost machine = c.node == null ? null : c.node.getMachine();
+
+		if( machine instanceof ICraftingProvider && this.craftingProviders.contains( machine ) )
+		{
+			this.dirtyProviders.add( (ICraftingProvider) machine );
+		}
+		else if( c.provider != null && this.craftingProviders.contains( c.provider ) )
+		{
+			this.dirtyProviders.add( c.provider );
+		}
+		else
+		{
+			this.dirtyProviders.addAll( this.craftingProviders );
+		}
 	}
 
 	@Override
 	public void addCraftingOption( final ICraftingMedium medium, final ICraftingPatternDetails api )
 	{
+		if( this.collecting != null )
+		{
+			this.collecting.mediums.add( medium );
+			this.collecting.patterns.add( api );
+		}
+
 		List<ICraftingMedium> details = this.craftingMethods.get( api );
 		if( details == null )
 		{
 			details = new ArrayList<ICraftingMedium>();
 			details.add( medium );
 			this.craftingMethods.put( api, details );
+
+			for( final IAEItemStack out : api.getOutputs() )
+			{
+				final IAEItemStack key = craftableKey( out );
+
+				Set<ICraftingPatternDetails> methods = this.patternsByOutput.get( key );
+				if( methods == null )
+				{
+					this.patternsByOutput.put( key, methods = new HashSet<ICraftingPatternDetails>() );
+				}
+
+				methods.add( api );
+				this.changedOutputs.add( key );
+			}
 		}
 		else
 		{
@@ -367,7 +484,20 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 	@Override
 	public void setEmitable( final IAEItemStack someItem )
 	{
-		this.emitableItems.add( someItem.copy() );
+		final IAEItemStack emitable = someItem.copy();
+
+		if( this.collecting != null )
+		{
+			this.collecting.emitables.add( emitable );
+		}
+
+		final Integer count = this.emitableProviders.get( emitable );
+		this.emitableProviders.put( emitable, count == null ? 1 : count + 1 );
+
+		if( this.emitableItems.add( emitable ) )
+		{
+			this.changedOutputs.add( craftableKey( emitable ) );
+		}
 	}
 
 	@Override
@@ -470,28 +600,17 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 	@Override
 	public ImmutableCollection<ICraftingPatternDetails> getCraftingFor( final IAEItemStack whatToCraft, final ICraftingPatternDetails details, final int slotIndex, final World world )
 	{
-		final ImmutableList<ICraftingPatternDetails> res = this.craftableItems.get( whatToCraft );
+		return CraftingPatternSnapshot.getCraftingFor( this.craftableItems, whatToCraft, details, slotIndex, world );
+	}
 
-		if( res == null )
+	public CraftingPatternSnapshot getPatternSnapshot( final World world )
+	{
+		if( this.patternSnapshot == null )
 		{
-			if( details != null && details.isCraftable() )
-			{
-				for( final IAEItemStack ais : this.craftableItems.keySet() )
-				{
-					if( ais.getItem() == whatToCraft.getItem() && ( !ais.getItem().getHasSubtypes() || ais.getItemDamage() == whatToCraft.getItemDamage() ) )
-					{
-						if( details.isValidItemForSlot( slotIndex, ais.getItemStack(), world ) )
-						{
-							return this.craftableItems.get( ais );
-						}
-					}
-				}
-			}
-
-			return ImmutableSet.of();
+			this.patternSnapshot = new CraftingPatternSnapshot( this.craftableItems, this.emitableItems, world );
 		}
 
-		return res;
+		return this.patternSnapshot;
 	}
 
 	@Override
@@ -618,6 +737,17 @@ public class CraftingGridCache implements ICraftingGrid, ICraftingProviderHelper
 		return this.interestManager;
 	}
 
+	/**
+	 * Everything a single provider added during its last {@link ICraftingProvider#provideCrafting}.
+	 */
+	private static class ProvidedPatterns
+	{
+
+		private final List<ICraftingMedium> mediums = new ArrayList<ICraftingMedium>();
+		private final List<ICraftingPatternDetails> patterns = new ArrayList<ICraftingPatternDetails>();
+		private final List<IAEItemStack> emitables = new ArrayList<IAEItemStack>();
+	}
+
 	private static class ActiveCpuIterator implements Iterator<ICraftingCPU>
 	{
 
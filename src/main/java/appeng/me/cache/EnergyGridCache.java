@@ -66,8 +66,9 @@ public class EnergyGridCache implements IEnergyGrid
 	private final IGrid myGrid;
 	private final HashMap<IGridNode, IEnergyWatcher> watchers = new HashMap<IGridNode, IEnergyWatcher>();
 	private final Set<IEnergyGrid> localSeen = new HashSet<IEnergyGrid>();
+	private final Set<IEnergyGrid> injectSeen = new HashSet<IEnergyGrid>();
 	/**
-	 * estimated power available.
+	 * power stored in the providers, kept up to date by every extraction and injection and refreshed now and then.
 	 */
 	private int availableTicksSinceUpdate = 0;
 	private double globalAvailablePower = 0;
@@ -261,7 +262,7 @@ public class EnergyGridCache implements IEnergyGrid
 
 		if( mode == Actionable.SIMULATE )
 		{
-			extractedPower += this.simulateExtract( extractedPower, amt );
+			extractedPower = this.simulateExtract( extractedPower, amt );
 
 			if( extractedPower < amt )
 			{
@@ -284,7 +285,6 @@ public class EnergyGridCache implements IEnergyGrid
 		if( extractedPower > amt )
 		{
 			this.extra = extractedPower - amt;
-			this.globalAvailablePower -= amt;
 
 			this.tickDrainPerTick += amt;
 			return amt;
@@ -300,7 +300,6 @@ public class EnergyGridCache implements IEnergyGrid
 		}
 
 		// go less or the correct amount?
-		this.globalAvailablePower -= extractedPower;
 		this.tickDrainPerTick += extractedPower;
 		return extractedPower;
 	}
@@ -339,8 +338,15 @@ public class EnergyGridCache implements IEnergyGrid
 			while( amt > 0 && !this.requesters.isEmpty() )
 			{
 				final IAEPowerStorage node = this.getFirstRequester();
+				final double offered = amt;
 
 				amt = node.injectAEPower( amt, Actionable.MODULATE );
+
+				if( node.getPowerFlow() != AccessRestriction.WRITE )
+				{
+					this.globalAvailablePower += offered - amt;
+				}
+
 				if( amt > 0 )
 				{
 					this.requesters.remove( node );
@@ -352,10 +358,12 @@ public class EnergyGridCache implements IEnergyGrid
 			while( amt > 0 && i.hasNext() )
 			{
 				final IEnergyGridProvider what = i.next();
-				final Set<IEnergyGrid> listCopy = new HashSet<IEnergyGrid>();
-				listCopy.addAll( seen );
 
-				final double cannotHold = what.injectAEPower( amt, Actionable.SIMULATE, listCopy );
+				// simulating must not mark the linked grids as seen, this grid is in seen so it is never re-entered here.
+				this.injectSeen.clear();
+				this.injectSeen.addAll( seen );
+
+				final double cannotHold = what.injectAEPower( amt, Actionable.SIMULATE, this.injectSeen );
 				what.injectAEPower( amt - cannotHold, mode, seen );
 
 				amt = cannotHold;
@@ -399,17 +407,42 @@ public class EnergyGridCache implements IEnergyGrid
 
 	private double simulateExtract( double extractedPower, final double amt )
 	{
+		if( extractedPower >= amt || this.providers.isEmpty() )
+		{
+			return extractedPower;
+		}
+
+		final double req = amt - extractedPower;
+
+		// the tracked power rules out requests the grid can not cover without asking every provider.
+		if( this.getStoredPower() < req )
+		{
+			// some public stores are charged directly instead of through the grid, only they know their real power.
+			this.refreshPower();
+
+			if( this.globalAvailablePower < req )
+			{
+				return extractedPower + Math.max( 0.0, this.globalAvailablePower );
+			}
+		}
+
+		// stores can also drain themselves, so only they can confirm the power is still there.
 		final Iterator<IAEPowerStorage> it = this.providers.iterator();
 
 		while( extractedPower < amt && it.hasNext() )
 		{
 			final IAEPowerStorage node = it.next();
 
-			final double req = amt - extractedPower;
-			final double newPower = node.extractAEPower( req, Actionable.SIMULATE, PowerMultiplier.ONE );
+			final double newPower = node.extractAEPower( amt - extractedPower, Actionable.SIMULATE, PowerMultiplier.ONE );
 			extractedPower += newPower;
 		}
 
+		if( extractedPower < amt )
+		{
+			// a store drained itself since the last refresh, correct the tracked power.
+			this.refreshPower();
+		}
+
 		return extractedPower;
 	}
 
@@ -422,6 +455,7 @@ public class EnergyGridCache implements IEnergyGrid
 			final double req = amt - extractedPower;
 			final double newPower = node.extractAEPower( req, Actionable.MODULATE, PowerMultiplier.ONE );
 			extractedPower += newPower;
+			this.globalAvailablePower -= newPower;
 
 			if( newPower < req )
 			{
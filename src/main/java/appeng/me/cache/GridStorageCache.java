@@ -19,6 +19,8 @@
 package appeng.me.cache;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -93,6 +95,42 @@ public class GridStorageCache implements IStorageGrid
 			this.inactiveCellProviders.remove( cc );
 		}
 
+		this.removeWatcher( node, machine );
+	}
+
+	@Override
+	public void removeNodes( final Collection<IGridNode> nodes )
+	{
+		// rebuild the cell array once, instead of once per cell container.
+		final CellChangeTracker tracker = new CellChangeTracker();
+		boolean cellsChanged = false;
+
+		for( final IGridNode node : nodes )
+		{
+			final IGridHost machine = node.getMachine();
+
+			if( machine instanceof ICellContainer )
+			{
+				final ICellContainer cc = (ICellContainer) machine;
+
+				this.removeCellProvider( cc, tracker );
+				this.inactiveCellProviders.remove( cc );
+				cellsChanged = true;
+			}
+
+			this.removeWatcher( node, machine );
+		}
+
+		if( cellsChanged )
+		{
+			this.getGrid().postEvent( new MENetworkCellArrayUpdate() );
+		}
+
+		tracker.applyChanges();
+	}
+
+	private void removeWatcher( final IGridNode node, final IGridHost machine )
+	{
 		if( machine instanceof IStackWatcherHost )
 		{
 			final IStackWatcher myWatcher = this.watchers.get( machine );
@@ -119,6 +157,48 @@ public class GridStorageCache implements IStorageGrid
 			}
 		}
 
+		this.addWatcher( node, machine );
+	}
+
+	@Override
+	public void addNodes( final Collection<IGridNode> nodes )
+	{
+		final List<IGridNode> cellNodes = new ArrayList<IGridNode>();
+
+		for( final IGridNode node : nodes )
+		{
+			final IGridHost machine = node.getMachine();
+
+			if( machine instanceof ICellContainer )
+			{
+				this.inactiveCellProviders.add( (ICellContainer) machine );
+				cellNodes.add( node );
+			}
+
+			this.addWatcher( node, machine );
+		}
+
+		if( cellNodes.isEmpty() )
+		{
+			return;
+		}
+
+		this.getGrid().postEvent( new MENetworkCellArrayUpdate() );
+
+		final CellChangeTracker tracker = new CellChangeTracker();
+		for( final IGridNode node : cellNodes )
+		{
+			if( node.isActive() )
+			{
+				this.addCellProvider( (ICellContainer) node.getMachine(), tracker );
+			}
+		}
+
+		tracker.applyChanges();
+	}
+
+	private void addWatcher( final IGridNode node, final IGridHost machine )
+	{
 		if( machine instanceof IStackWatcherHost )
 		{
 			final IStackWatcherHost swh = (IStackWatcherHost) machine;
@@ -259,7 +339,7 @@ public class GridStorageCache implements IStorageGrid
 		}
 	}
 
-	IMEInventoryHandler<IAEItemStack> getItemInventoryHandler()
+	public IMEInventoryHandler<IAEItemStack> getItemInventoryHandler()
 	{
 		if( this.myItemNetwork == null )
 		{
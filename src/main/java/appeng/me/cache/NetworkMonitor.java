@@ -43,6 +43,9 @@ import appeng.api.storage.IMEMonitorHandlerReceiver;
 import appeng.api.storage.StorageChannel;
 import appeng.api.storage.data.IAEStack;
 import appeng.api.storage.data.IItemList;
+import appeng.core.AEConfig;
+import appeng.core.AELog;
+import appeng.core.features.AEFeature;
 import appeng.me.storage.ItemWatcher;
 
 
@@ -61,9 +64,13 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 	private final Map<IMEMonitorHandlerReceiver<T>, Object> listeners;
 
 	private boolean sendEvent = false;
-	private boolean hasChanged = false;
+	private boolean needsRebuild = true;
 	@Nonnegative
 	private int localDepthSemaphore = 0;
+	@Nonnegative
+	private long fullRebuilds = 0;
+	@Nonnegative
+	private long incrementalUpdates = 0;
 
 	public NetworkMonitor( final GridStorageCache cache, final StorageChannel chan )
 	{
@@ -101,6 +108,10 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		{
 			this.monitorDifference( request.copy(), leftover, true, src );
 		}
+		else
+		{
+			this.markNestedChange();
+		}
 
 		return leftover;
 	}
@@ -135,13 +146,18 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		return this.getHandler().getSlot();
 	}
 
+	/**
+	 * The cached list is patched with every posted change and only rebuilt from all cells after {@link #forceUpdate()}
+	 * or whenever a change can not be applied incrementally.
+	 */
 	@Nonnull
 	@Override
 	public IItemList<T> getStorageList()
 	{
-		if( this.hasChanged )
+		if( this.needsRebuild )
 		{
-			this.hasChanged = false;
+			this.needsRebuild = false;
+			this.fullRebuilds++;
 			this.cachedList.resetStatus();
 			return this.getAvailableItems( this.cachedList );
 		}
@@ -149,6 +165,22 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		return this.cachedList;
 	}
 
+	/**
+	 * @return how often the storage list had to be rebuilt from all cells.
+	 */
+	public long getFullRebuilds()
+	{
+		return this.fullRebuilds;
+	}
+
+	/**
+	 * @return how many change batches were applied to the cached storage list without a rebuild.
+	 */
+	public long getIncrementalUpdates()
+	{
+		return this.incrementalUpdates;
+	}
+
 	@Override
 	public T injectItems( final T input, final Actionable mode, final BaseActionSource src )
 	{
@@ -165,6 +197,10 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		{
 			this.monitorDifference( input.copy(), leftover, false, src );
 		}
+		else
+		{
+			this.markNestedChange();
+		}
 
 		return leftover;
 	}
@@ -230,7 +266,6 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 
 	private void notifyListenersOfChange( final Iterable<T> diff, final BaseActionSource src )
 	{
-		this.hasChanged = true;
 		final Iterator<Entry<IMEMonitorHandlerReceiver<T>, Object>> i = this.getListeners();
 
 		while( i.hasNext() )
@@ -248,6 +283,15 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		}
 	}
 
+	private void markNestedChange()
+	{
+		if( GLOBAL_DEPTH.contains( this ) )
+		{
+			// a listener moved items while we were posting, that difference is never posted.
+			this.needsRebuild = true;
+		}
+	}
+
 	private void postChangesToListeners( final Iterable<T> changes, final BaseActionSource src )
 	{
 		this.postChange( true, changes, src );
@@ -255,8 +299,16 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 
 	protected void postChange( final boolean add, final Iterable<T> changes, final BaseActionSource src )
 	{
-		if( localDepthSemaphore > 0 || GLOBAL_DEPTH.contains( this ) )
+		if( GLOBAL_DEPTH.contains( this ) )
 		{
+			// changes made by our own listeners are not posted, so the cached list can not be patched with them either.
+			this.needsRebuild = true;
+			return;
+		}
+
+		if( localDepthSemaphore > 0 )
+		{
+			// the outer inject or extract posts the difference once it returns.
 			return;
 		}
 
@@ -265,6 +317,7 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 
 		this.sendEvent = true;
 
+		this.updateCachedList( add, changes );
 		this.notifyListenersOfChange( changes, src );
 
 		for( final T changedItem : changes )
@@ -312,9 +365,85 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		}
 	}
 
+	private void updateCachedList( final boolean add, final Iterable<T> changes )
+	{
+		if( this.needsRebuild )
+		{
+			return;
+		}
+
+		for( final T changedItem : changes )
+		{
+			if( changedItem == null )
+			{
+				continue;
+			}
+
+			// craftable and requestable states are owned by the crafting providers, only a rebuild can remove them.
+			if( changedItem.isCraftable() || changedItem.getCountRequestable() != 0 )
+			{
+				this.needsRebuild = true;
+				return;
+			}
+
+			if( add )
+			{
+				this.cachedList.addStorage( changedItem );
+			}
+			else
+			{
+				final T difference = changedItem.copy();
+				difference.setStackSize( -changedItem.getStackSize() );
+				this.cachedList.addStorage( difference );
+			}
+		}
+
+		this.incrementalUpdates++;
+	}
+
+	/**
+	 * Compares the incrementally maintained list against a full rebuild, any difference is logged and healed by
+	 * rebuilding the list.
+	 */
+	private void verifyCachedList()
+	{
+		if( this.needsRebuild )
+		{
+			return;
+		}
+
+		final IItemList<T> expected = this.getAvailableItems( this.myChannel.createList() );
+		int mismatches = 0;
+
+		for( final T is : expected )
+		{
+			final T cached = this.cachedList.findPrecise( is );
+			if( cached == null || cached.getStackSize() != is.getStackSize() || cached.isCraftable() != is.isCraftable() || cached.getCountRequestable() != is.getCountRequestable() )
+			{
+				AELog.warn( "Storage list mismatch on %s: expected %s, cached %s", this.myChannel, is, cached );
+				mismatches++;
+			}
+		}
+
+		for( final T cached : this.cachedList )
+		{
+			if( expected.findPrecise( cached ) == null )
+			{
+				AELog.warn( "Storage list mismatch on %s: expected nothing, cached %s", this.myChannel, cached );
+				mismatches++;
+			}
+		}
+
+		if( mismatches > 0 )
+		{
+			AELog.warn( "Storage list of %s had %d mismatches after %d incremental updates, rebuilding.", this.myChannel, mismatches, this.incrementalUpdates );
+			this.needsRebuild = true;
+		}
+	}
+
 	void forceUpdate()
 	{
-		this.hasChanged = true;
+		this.needsRebuild = true;
 
 		final Iterator<Entry<IMEMonitorHandlerReceiver<T>, Object>> i = this.getListeners();
 		while( i.hasNext() )
@@ -338,6 +467,12 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T>
 		if( this.sendEvent )
 		{
 			this.sendEvent = false;
+
+			if( AEConfig.instance.isFeatureEnabled( AEFeature.StorageListVerification ) )
+			{
+				this.verifyCachedList();
+			}
+
 			this.myGridCache.getGrid().postEvent( new MENetworkStorageEvent( this, this.myChannel ) );
 		}
 	}
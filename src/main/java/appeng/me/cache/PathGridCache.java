@@ -19,11 +19,14 @@
 package appeng.me.cache;
 
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import appeng.api.networking.GridFlags;
@@ -59,20 +62,26 @@ import appeng.util.Platform;
 public class PathGridCache implements IPathingGrid
 {
 
-	private final LinkedList<PathSegment> active = new LinkedList<PathSegment>();
+	private final List<PathSegment> active = new ArrayList<PathSegment>();
 	private final Set<TileController> controllers = new HashSet<TileController>();
 	private final Set<IGridNode> requireChannels = new HashSet<IGridNode>();
 	private final Set<IGridNode> blockDense = new HashSet<IGridNode>();
+	private final Set<IGridNode> attachedNodes = new HashSet<IGridNode>();
+	private final Map<IGridNode, IPathItem> attachedRoutes = new HashMap<IGridNode, IPathItem>();
+	private final Set<IGridNode> detachedNodes = new HashSet<IGridNode>();
 	private final IGrid myGrid;
 	private int channelsInUse = 0;
 	private int channelsByBlocks = 0;
+	private int channelsDenied = 0;
 	private double channelPowerUsage = 0.0;
 	private boolean recalculateControllerNextTick = true;
 	private boolean updateNetwork = true;
+	private boolean updateIncrementally = false;
 	private boolean booting = false;
 	private ControllerState controllerState = ControllerState.NO_CONTROLLER;
 	private int ticksUntilReady = 20;
 	private int lastChannels = 0;
+	private int nextSegment = 0;
 	private HashSet<IPathItem> semiOpen = new HashSet<IPathItem>();
 
 	public PathGridCache( final IGrid g )
@@ -88,6 +97,11 @@ public class PathGridCache implements IPathingGrid
 			this.recalcController();
 		}
 
+		if( this.updateIncrementally )
+		{
+			this.updateIncrementally();
+		}
+
 		if( this.updateNetwork )
 		{
 			if( !this.booting )
@@ -98,6 +112,7 @@ public class PathGridCache implements IPathingGrid
 			this.booting = true;
 			this.updateNetwork = false;
 			this.setChannelsInUse( 0 );
+			this.setChannelsDenied( 0 );
 
 			if( !AEConfig.instance.isFeatureEnabled( AEFeature.Channels ) )
 			{
@@ -163,16 +178,7 @@ public class PathGridCache implements IPathingGrid
 
 		if( !this.active.isEmpty() || this.ticksUntilReady > 0 )
 		{
-			final Iterator<PathSegment> i = this.active.iterator();
-			while( i.hasNext() )
-			{
-				final PathSegment pat = i.next();
-				if( pat.step() )
-				{
-					pat.setDead( true );
-					i.remove();
-				}
-			}
+			this.stepSegments();
 
 			this.ticksUntilReady--;
 
@@ -219,7 +225,11 @@ public class PathGridCache implements IPathingGrid
 			this.blockDense.remove( gridNode );
 		}
 
-		this.repath();
+		// nodes leaving with a detached branch have already given back their channels.
+		if( !this.detachedNodes.remove( gridNode ) && !this.attachedNodes.remove( gridNode ) )
+		{
+			this.repath();
+		}
 	}
 
 	@Override
@@ -243,7 +253,355 @@ public class PathGridCache implements IPathingGrid
 			this.blockDense.add( gridNode );
 		}
 
-		this.repath();
+		if( this.canUpdateIncrementally() )
+		{
+			this.attachedNodes.add( gridNode );
+			this.updateIncrementally = true;
+		}
+		else
+		{
+			this.repath();
+		}
+	}
+
+	/**
+	 * Called by a new connection, before it is added to its nodes.
+	 */
+	public void connectionAdded( final GridConnection gc )
+	{
+		final boolean attachedA = this.attachedNodes.contains( gc.a() );
+		final boolean attachedB = this.attachedNodes.contains( gc.b() );
+
+		if( !this.canUpdateIncrementally() || !( attachedA || attachedB ) )
+		{
+			// connects two routed nodes, this might offer shorter routes.
+			this.repath();
+			return;
+		}
+
+		// adding the connection sorts the connections of the node, which can move it in front of the current route.
+		if( !attachedA )
+		{
+			this.rememberRoute( gc.a() );
+		}
+
+		if( !attachedB )
+		{
+			this.rememberRoute( gc.b() );
+		}
+	}
+
+	/**
+	 * Called by a destroyed connection, before it is removed from its nodes.
+	 */
+	public void connectionRemoved( final GridConnection gc )
+	{
+		if( this.attachedNodes.contains( gc.a() ) || this.attachedNodes.contains( gc.b() ) )
+		{
+			// was never routed, so it carries no channels.
+			return;
+		}
+
+		final List<IPathItem> branch = new ArrayList<IPathItem>();
+
+		if( !this.canUpdateIncrementally() || !this.collectDetachedBranch( gc, branch ) )
+		{
+			this.repath();
+			return;
+		}
+
+		int channelsByBranch = 0;
+		for( final IPathItem pi : branch )
+		{
+			channelsByBranch += getUsedChannels( pi );
+
+			if( pi instanceof IGridNode )
+			{
+				this.detachedNodes.add( (IGridNode) pi );
+			}
+		}
+
+		// give the channels of the branch back along its route to the controller.
+		final int channels = gc.getUsedChannels();
+		IPathItem pi = gc.getControllerRoute();
+		while( pi != null )
+		{
+			pi.incrementChannelCount( -channels );
+			pi.finalizeChannels();
+			channelsByBranch += channels;
+			pi = pi.getControllerRoute();
+		}
+
+		this.setChannelsInUse( this.getChannelsInUse() - channels );
+		this.setChannelsByBlocks( this.getChannelsByBlocks() - channelsByBranch );
+		this.setChannelPowerUsage( this.getChannelsByBlocks() / 128.0 );
+		this.updateIncrementally = true;
+	}
+
+	/**
+	 * Expands the layers of all segments, but never more path items than the configured budget per tick. An unfinished
+	 * round continues next tick, so the segments are expanded in the same order as without a budget.
+	 */
+	private void stepSegments()
+	{
+		int budget = getPathfindingBudget();
+
+		while( this.nextSegment < this.active.size() )
+		{
+			final PathSegment pat = this.active.get( this.nextSegment );
+			budget -= pat.step( budget );
+
+			if( !pat.isLayerDone() )
+			{
+				return;
+			}
+
+			this.nextSegment++;
+		}
+
+		this.nextSegment = 0;
+
+		final Iterator<PathSegment> i = this.active.iterator();
+		while( i.hasNext() )
+		{
+			final PathSegment pat = i.next();
+			if( pat.isFinished() )
+			{
+				pat.setDead( true );
+				i.remove();
+			}
+		}
+	}
+
+	private static int getPathfindingBudget()
+	{
+		final int budget = AEConfig.instance.pathfindingStepsPerTick;
+		return budget > 0 ? budget : Integer.MAX_VALUE;
+	}
+
+	private boolean canUpdateIncrementally()
+	{
+		return !this.updateNetwork && !this.booting && this.active.isEmpty() && !this.recalculateControllerNextTick && this.channelsDenied == 0 && this.controllerState == ControllerState.CONTROLLER_ONLINE && AEConfig.instance.isFeatureEnabled( AEFeature.Channels );
+	}
+
+	private void rememberRoute( final IGridNode node )
+	{
+		if( !this.attachedRoutes.containsKey( node ) )
+		{
+			this.attachedRoutes.put( node, ( (IPathItem) node ).getControllerRoute() );
+		}
+	}
+
+	/**
+	 * Applies the branches which were attached to or detached from the network since the last tick.
+	 *
+	 * Only branches without loops can be handled this way, as every other route stays the same. Anything else, or a
+	 * branch which runs out of channels, falls back to pathing the whole network.
+	 */
+	private void updateIncrementally()
+	{
+		this.updateIncrementally = false;
+
+		// a detached node is still part of the grid, the branch had another way to the controller.
+		if( !this.detachedNodes.isEmpty() || !this.attachBranches() )
+		{
+			this.repath();
+			return;
+		}
+
+		this.attachedNodes.clear();
+		this.attachedRoutes.clear();
+
+		this.setChannelPowerUsage( this.getChannelsByBlocks() / 128.0 );
+		this.achievementPost();
+	}
+
+	private boolean attachBranches()
+	{
+		for( final Map.Entry<IGridNode, IPathItem> route : this.attachedRoutes.entrySet() )
+		{
+			if( route.getValue() != null )
+			{
+				( (IPathItem) route.getKey() ).setControllerRoute( route.getValue(), false );
+			}
+		}
+
+		final int budget = getPathfindingBudget();
+		final Set<IGridNode> pending = new HashSet<IGridNode>( this.attachedNodes );
+
+		for( final IGridNode start : this.attachedNodes )
+		{
+			if( !pending.remove( start ) )
+			{
+				continue;
+			}
+
+			final LinkedList<IGridNode> queue = new LinkedList<IGridNode>();
+			GridConnection attachment = null;
+			int size = 0;
+			int links = 0;
+
+			queue.add( start );
+
+			while( !queue.isEmpty() )
+			{
+				final IGridNode node = queue.poll();
+				final EnumSet<GridFlags> flags = node.getGridBlock().getFlags();
+
+				if( flags.contains( GridFlags.MULTIBLOCK ) || flags.contains( GridFlags.COMPRESSED_CHANNEL ) || node.getMachine() instanceof TileController )
+				{
+					return false;
+				}
+
+				if( flags.contains( GridFlags.CANNOT_CARRY ) && node.getConnections().size() > 1 )
+				{
+					return false;
+				}
+
+				size++;
+				if( size > budget )
+				{
+					return false;
+				}
+
+				for( final IGridConnection gc : node.getConnections() )
+				{
+					final IGridNode other = gc.getOtherSide( node );
+
+					if( this.attachedNodes.contains( other ) )
+					{
+						links++;
+						if( pending.remove( other ) )
+						{
+							queue.add( other );
+						}
+					}
+					else if( attachment == null )
+					{
+						attachment = (GridConnection) gc;
+					}
+					else
+					{
+						// joined to the network twice.
+						return false;
+					}
+				}
+			}
+
+			// every link inside the branch is seen from both ends, a tree has one less than it has nodes.
+			if( attachment == null || links != 2 * ( size - 1 ) || !this.attachBranch( attachment ) )
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean attachBranch( final GridConnection attachment )
+	{
+		final GridNode anchor = (GridNode) ( this.attachedNodes.contains( attachment.a() ) ? attachment.b() : attachment.a() );
+
+		if( !( anchor.getMachine() instanceof TileController ) )
+		{
+			final IPathItem route = anchor.getControllerRoute();
+			if( route == null || route == attachment )
+			{
+				return false;
+			}
+		}
+
+		final List<IPathItem> open = new LinkedList<IPathItem>();
+		final Set<IPathItem> closed = new HashSet<IPathItem>();
+
+		open.add( attachment );
+		closed.add( attachment );
+		closed.add( anchor );
+		attachment.setControllerRoute( anchor, true );
+
+		final PathSegment segment = new PathSegment( this, open, new HashSet<IPathItem>(), closed );
+		while( !segment.step() )
+		{
+			// path the whole branch now, it is no larger than the budget.
+		}
+
+		if( this.getChannelsDenied() > 0 )
+		{
+			return false;
+		}
+
+		closed.remove( anchor );
+		for( final IPathItem pi : closed )
+		{
+			pi.finalizeChannels();
+		}
+
+		IPathItem pi = attachment.getControllerRoute();
+		while( pi != null )
+		{
+			pi.finalizeChannels();
+			pi = pi.getControllerRoute();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Collects the connection and everything routed through it, as long as none of it needs special treatment.
+	 */
+	private boolean collectDetachedBranch( final GridConnection gc, final List<IPathItem> branch )
+	{
+		final IGridNode root = gc.b();
+		if( ( (IPathItem) root ).getControllerRoute() != gc )
+		{
+			return false;
+		}
+
+		final int budget = getPathfindingBudget();
+		final LinkedList<IGridNode> queue = new LinkedList<IGridNode>();
+
+		branch.add( gc );
+		queue.add( root );
+
+		while( !queue.isEmpty() )
+		{
+			final IGridNode node = queue.poll();
+			final EnumSet<GridFlags> flags = node.getGridBlock().getFlags();
+
+			if( flags.contains( GridFlags.MULTIBLOCK ) || flags.contains( GridFlags.COMPRESSED_CHANNEL ) || node.getMachine() instanceof TileController )
+			{
+				return false;
+			}
+
+			branch.add( (IPathItem) node );
+			if( branch.size() > budget )
+			{
+				return false;
+			}
+
+			for( final IGridConnection child : node.getConnections() )
+			{
+				final IGridNode other = child.getOtherSide( node );
+
+				if( child.a() == node && ( (IPathItem) other ).getControllerRoute() == child )
+				{
+					branch.add( (IPathItem) child );
+					queue.add( other );
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private static int getUsedChannels( final IPathItem pi )
+	{
+		if( pi instanceof GridNode )
+		{
+			return ( (GridNode) pi ).usedChannels();
+		}
+
+		return ( (GridConnection) pi ).getUsedChannels();
 	}
 
 	@Override
@@ -414,6 +772,11 @@ public class PathGridCache implements IPathingGrid
 	{
 		// clean up...
 		this.active.clear();
+		this.nextSegment = 0;
+		this.attachedNodes.clear();
+		this.attachedRoutes.clear();
+		this.detachedNodes.clear();
+		this.updateIncrementally = false;
 
 		this.setChannelsByBlocks( 0 );
 		this.updateNetwork = true;
@@ -439,6 +802,16 @@ public class PathGridCache implements IPathingGrid
 		this.channelsByBlocks = channelsByBlocks;
 	}
 
+	public int getChannelsDenied()
+	{
+		return this.channelsDenied;
+	}
+
+	public void setChannelsDenied( final int channelsDenied )
+	{
+		this.channelsDenied = channelsDenied;
+	}
+
 	public int getChannelsInUse()
 	{
 		return this.channelsInUse;
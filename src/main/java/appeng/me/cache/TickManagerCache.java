@@ -20,7 +20,8 @@ package appeng.me.cache;
 
 
 import java.util.HashMap;
-import java.util.PriorityQueue;
+
+import com.google.common.collect.Iterables;
 
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
@@ -34,6 +35,7 @@ import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
+import appeng.me.cache.helpers.TickQueue;
 import appeng.me.cache.helpers.TickTracker;
 
 
@@ -44,7 +46,7 @@ public class TickManagerCache implements ITickManager
 	private final HashMap<IGridNode, TickTracker> alertable = new HashMap<IGridNode, TickTracker>();
 	private final HashMap<IGridNode, TickTracker> sleeping = new HashMap<IGridNode, TickTracker>();
 	private final HashMap<IGridNode, TickTracker> awake = new HashMap<IGridNode, TickTracker>();
-	private final PriorityQueue<TickTracker> upcomingTicks = new PriorityQueue<TickTracker>();
+	private final TickQueue upcomingTicks = new TickQueue();
 	private long currentTick = 0;
 
 	public TickManagerCache( final IGrid g )
@@ -74,6 +76,14 @@ public class TickManagerCache implements ITickManager
 		return tt.getAvgNanos();
 	}
 
+	/**
+	 * @return the trackers of all awake and sleeping devices.
+	 */
+	public Iterable<TickTracker> getTickTrackers()
+	{
+		return Iterables.concat( this.awake.values(), this.sleeping.values() );
+	}
+
 	@Override
 	public void onUpdateTick()
 	{
@@ -89,7 +99,9 @@ public class TickManagerCache implements ITickManager
 				{
 					// remove tt..
 					this.upcomingTicks.poll();
+					final long start = System.nanoTime();
 					final TickRateModulation mod = tt.getGridTickable().tickingRequest( tt.getNode(), diff );
+					tt.addTickTime( System.nanoTime() - start );
 
 					switch( mod )
 					{
@@ -146,8 +158,19 @@ public class TickManagerCache implements ITickManager
 		if( machine instanceof IGridTickable )
 		{
 			this.alertable.remove( gridNode );
-			this.sleeping.remove( gridNode );
-			this.awake.remove( gridNode );
+			final TickTracker sleepingTracker = this.sleeping.remove( gridNode );
+			final TickTracker awakeTracker = this.awake.remove( gridNode );
+
+			// a device put to sleep from outside stays queued until its next tick.
+			if( sleepingTracker != null )
+			{
+				this.upcomingTicks.remove( sleepingTracker );
+			}
+
+			if( awakeTracker != null )
+			{
+				this.upcomingTicks.remove( awakeTracker );
+			}
 		}
 	}
 
@@ -159,7 +182,7 @@ public class TickManagerCache implements ITickManager
 			final TickingRequest tr = ( (IGridTickable) machine ).getTickingRequest( gridNode );
 			if( tr != null )
 			{
-				final TickTracker tt = new TickTracker( tr, gridNode, (IGridTickable) machine, this.currentTick, this );
+				final TickTracker tt = new TickTracker( tr, gridNode, (IGridTickable) machine, this.currentTick );
 
 				if( tr.canBeAlerted )
 				{
@@ -216,8 +239,7 @@ public class TickManagerCache implements ITickManager
 		tt.setLastTick( tt.getLastTick() - tt.getRequest().maxTickRate );
 		tt.setCurrentRate( tt.getRequest().minTickRate );
 
-		// prevent dupes and tick build up.
-		this.upcomingTicks.remove( tt );
+		// re-queues an already queued tracker, which prevents dupes and tick build up.
 		this.upcomingTicks.add( tt );
 
 		return true;
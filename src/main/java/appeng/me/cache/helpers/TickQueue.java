@@ -0,0 +1,189 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+
+package appeng.me.cache.helpers;
+
+
+import java.util.Arrays;
+
+
+/**
+ * Binary min heap of {@link TickTracker} ordered by their next tick.
+ *
+ * Every tracker remembers its own position, so removing or rescheduling a single tracker is O(log n) and a tracker
+ * can never be queued twice.
+ */
+public class TickQueue
+{
+
+	private TickTracker[] heap = new TickTracker[16];
+	private int size = 0;
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public boolean contains( final TickTracker tt )
+	{
+		final int i = tt.getQueueIndex();
+		return i >= 0 && i < this.size && this.heap[i] == tt;
+	}
+
+	public TickTracker peek()
+	{
+		return this.size == 0 ? null : this.heap[0];
+	}
+
+	public TickTracker poll()
+	{
+		if( this.size == 0 )
+		{
+			return null;
+		}
+
+		final TickTracker first = this.heap[0];
+		this.removeAt( 0 );
+		return first;
+	}
+
+	/**
+	 * Adds the tracker, or moves it to its new position if it is already queued.
+	 */
+	public void add( final TickTracker tt )
+	{
+		if( this.contains( tt ) )
+		{
+			this.update( tt );
+			return;
+		}
+
+		if( this.size == this.heap.length )
+		{
+			this.heap = Arrays.copyOf( this.heap, this.size * 2 );
+		}
+
+		this.heap[this.size] = tt;
+		tt.setQueueIndex( this.size );
+		this.size++;
+		this.siftUp( this.size - 1 );
+	}
+
+	public boolean remove( final TickTracker tt )
+	{
+		if( !this.contains( tt ) )
+		{
+			return false;
+		}
+
+		this.removeAt( tt.getQueueIndex() );
+		return true;
+	}
+
+	/**
+	 * Restores the heap order after the next tick of a queued tracker changed.
+	 */
+	public void update( final TickTracker tt )
+	{
+		if( this.contains( tt ) )
+		{
+			this.siftDown( this.siftUp( tt.getQueueIndex() ) );
+		}
+	}
+
+	private void removeAt( final int i )
+	{
+		final TickTracker removed = this.heap[i];
+		this.size--;
+
+		if( i != this.size )
+		{
+			this.heap[i] = this.heap[this.size];
+			this.heap[i].setQueueIndex( i );
+			this.heap[this.size] = null;
+			this.siftDown( this.siftUp( i ) );
+		}
+		else
+		{
+			this.heap[i] = null;
+		}
+
+		removed.setQueueIndex( -1 );
+	}
+
+	private int siftUp( int i )
+	{
+		final TickTracker tt = this.heap[i];
+		final long next = tt.getNextTick();
+
+		while( i > 0 )
+		{
+			final int parent = ( i - 1 ) >>> 1;
+			final TickTracker p = this.heap[parent];
+
+			if( p.getNextTick() <= next )
+			{
+				break;
+			}
+
+			this.heap[i] = p;
+			p.setQueueIndex( i );
+			i = parent;
+		}
+
+		this.heap[i] = tt;
+		tt.setQueueIndex( i );
+		return i;
+	}
+
+	private void siftDown( int i )
+	{
+		final TickTracker tt = this.heap[i];
+		final long next = tt.getNextTick();
+		final int half = this.size >>> 1;
+
+		while( i < half )
+		{
+			int child = ( i << 1 ) + 1;
+			final int right = child + 1;
+
+			if( right < this.size && this.heap[right].getNextTick() < this.heap[child].getNextTick() )
+			{
+				child = right;
+			}
+
+			if( next <= this.heap[child].getNextTick() )
+			{
+				break;
+			}
+
+			this.heap[i] = this.heap[child];
+			this.heap[i].setQueueIndex( i );
+			i = child;
+		}
+
+		this.heap[i] = tt;
+		tt.setQueueIndex( i );
+	}
+}
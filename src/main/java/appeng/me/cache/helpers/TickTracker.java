@@ -19,44 +19,55 @@
 package appeng.me.cache.helpers;
 
 
-import javax.annotation.Nonnull;
-
 import net.minecraft.crash.CrashReportCategory;
 
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickingRequest;
 import appeng.api.util.DimensionalCoord;
-import appeng.me.cache.TickManagerCache;
 import appeng.parts.AEBasePart;
 
 
-public class TickTracker implements Comparable<TickTracker>
+public class TickTracker
 {
 
+	private static final int TIMING_SAMPLES = 5;
+
 	private final TickingRequest request;
 	private final IGridTickable gt;
 	private final IGridNode node;
-	private final TickManagerCache host;
 
-	private final long LastFiveTicksTime = 0;
+	private final long[] lastTickTimes = new long[TIMING_SAMPLES];
+	private long lastTicksTime = 0;
+	private int timingSamples = 0;
 
 	private long lastTick;
 	private int currentRate;
+	private int queueIndex = -1;
 
-	public TickTracker( final TickingRequest req, final IGridNode node, final IGridTickable gt, final long currentTick, final TickManagerCache tickManagerCache )
+	public TickTracker( final TickingRequest req, final IGridNode node, final IGridTickable gt, final long currentTick )
 	{
 		this.request = req;
 		this.gt = gt;
 		this.node = node;
 		this.setCurrentRate( ( req.minTickRate + req.maxTickRate ) / 2 );
 		this.setLastTick( currentTick );
-		this.host = tickManagerCache;
 	}
 
+	/**
+	 * @return average time spent in the last five ticking requests.
+	 */
 	public long getAvgNanos()
 	{
-		return( this.LastFiveTicksTime / 5 );
+		return this.timingSamples == 0 ? 0 : this.lastTicksTime / Math.min( this.timingSamples, TIMING_SAMPLES );
+	}
+
+	public void addTickTime( final long nanos )
+	{
+		final int slot = this.timingSamples % TIMING_SAMPLES;
+		this.lastTicksTime += nanos - this.lastTickTimes[slot];
+		this.lastTickTimes[slot] = nanos;
+		this.timingSamples = this.timingSamples == Integer.MAX_VALUE ? TIMING_SAMPLES : this.timingSamples + 1;
 	}
 
 	public void setRate( final int rate )
@@ -74,14 +85,6 @@ public class TickTracker implements Comparable<TickTracker>
 		}
 	}
 
-	@Override
-	public int compareTo( @Nonnull final TickTracker t )
-	{
-		final int nextTick = (int) ( ( this.getLastTick() - this.host.getCurrentTick() ) + this.getCurrentRate() );
-		final int ts_nextTick = (int) ( ( t.getLastTick() - this.host.getCurrentTick() ) + t.getCurrentRate() );
-		return nextTick - ts_nextTick;
-	}
-
 	public void addEntityCrashInfo( final CrashReportCategory crashreportcategory )
 	{
 		if( this.getGridTickable() instanceof AEBasePart )
@@ -124,6 +127,21 @@ public class TickTracker implements Comparable<TickTracker>
 		this.lastTick = lastTick;
 	}
 
+	public long getNextTick()
+	{
+		return this.lastTick + this.currentRate;
+	}
+
+	int getQueueIndex()
+	{
+		return this.queueIndex;
+	}
+
+	void setQueueIndex( final int queueIndex )
+	{
+		this.queueIndex = queueIndex;
+	}
+
 	public IGridNode getNode()
 	{
 		return this.node;
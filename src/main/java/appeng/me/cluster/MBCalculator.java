@@ -19,6 +19,10 @@
 package appeng.me.cluster;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -26,6 +30,7 @@ import net.minecraft.world.World;
 import appeng.api.util.AEPartLocation;
 import appeng.api.util.WorldCoord;
 import appeng.core.AELog;
+import appeng.hooks.TickHandler;
 import appeng.util.Platform;
 
 
@@ -34,11 +39,21 @@ public abstract class MBCalculator
 
 	private final IAEMultiBlock target;
 
+	/**
+	 * location of a pending calculation, null if none is queued.
+	 */
+	private World queuedWorld;
+	private WorldCoord queuedLoc;
+
 	public MBCalculator( final IAEMultiBlock t )
 	{
 		this.target = t;
 	}
 
+	/**
+	 * Queues the calculation until the end of the tick, a structure loading or changing as a whole is only scanned once
+	 * instead of once per tile.
+	 */
 	public void calculateMultiblock( final World world, final WorldCoord loc )
 	{
 		if( Platform.isClient() )
@@ -46,6 +61,86 @@ public abstract class MBCalculator
 			return;
 		}
 
+		final boolean queued = this.queuedWorld != null;
+
+		this.queuedWorld = world;
+		this.queuedLoc = loc;
+
+		if( !queued )
+		{
+			TickHandler.INSTANCE.addMultiblock( this );
+		}
+	}
+
+	/**
+	 * Runs the queued calculations.
+	 *
+	 * Once a structure is formed, the other queued tiles inside of it would only find the same structure and cluster
+	 * again, so they are skipped.
+	 *
+	 * @param queue calculators queued by {@link #calculateMultiblock(World, WorldCoord)}
+	 */
+	public static void calculateQueued( final Collection<MBCalculator> queue )
+	{
+		final List<Region> formed = new ArrayList<Region>();
+
+		for( final MBCalculator calc : queue )
+		{
+			final World world = calc.queuedWorld;
+			final WorldCoord loc = calc.queuedLoc;
+
+			calc.queuedWorld = null;
+			calc.queuedLoc = null;
+
+			if( world == null || !calc.isQueuedTile( world, loc ) )
+			{
+				continue;
+			}
+
+			if( calc.isInFormedRegion( formed, loc ) )
+			{
+				continue;
+			}
+
+			final Region region = calc.calculate( world, loc );
+
+			if( region != null )
+			{
+				formed.add( region );
+			}
+		}
+	}
+
+	private boolean isQueuedTile( final World world, final WorldCoord loc )
+	{
+		final BlockPos pos = new BlockPos( loc.x, loc.y, loc.z );
+
+		return world.isBlockLoaded( pos ) && world.getTileEntity( pos ) == this.target;
+	}
+
+	private boolean isInFormedRegion( final List<Region> formed, final WorldCoord loc )
+	{
+		final IAECluster cluster = this.target.getCluster();
+
+		if( cluster != null )
+		{
+			for( final Region region : formed )
+			{
+				if( region.cluster == cluster && region.contains( loc ) )
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return the formed structure or null if it was disconnected
+	 */
+	private Region calculate( final World world, final WorldCoord loc )
+	{
 		try
 		{
 			final WorldCoord min = loc.copy();
@@ -88,13 +183,13 @@ public abstract class MBCalculator
 						if( !this.verifyInternalStructure( world, min, max ) )
 						{
 							this.disconnect();
-							return;
+							return null;
 						}
 					}
 					catch( final Exception err )
 					{
 						this.disconnect();
-						return;
+						return null;
 					}
 
 					boolean updateGrid = false;
@@ -111,7 +206,7 @@ public abstract class MBCalculator
 					}
 
 					c.updateStatus( updateGrid );
-					return;
+					return new Region( c, min, max );
 				}
 			}
 		}
@@ -121,6 +216,7 @@ public abstract class MBCalculator
 		}
 
 		this.disconnect();
+		return null;
 	}
 
 	private boolean isValidTileAt( final World w, final int x, final int y, final int z )
@@ -237,4 +333,24 @@ public abstract class MBCalculator
 
 		return false;
 	}
+
+	private static final class Region
+	{
+
+		private final IAECluster cluster;
+		private final WorldCoord min;
+		private final WorldCoord max;
+
+		private Region( final IAECluster cluster, final WorldCoord min, final WorldCoord max )
+		{
+			this.cluster = cluster;
+			this.min = min;
+			this.max = max;
+		}
+
+		private boolean contains( final WorldCoord loc )
+		{
+			return loc.x >= this.min.x && loc.x <= this.max.x && loc.y >= this.min.y && loc.y <= this.max.y && loc.z >= this.min.z && loc.z <= this.max.z;
+		}
+	}
 }
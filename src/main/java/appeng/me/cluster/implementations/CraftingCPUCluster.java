@@ -19,12 +19,15 @@
 package appeng.me.cluster.implementations;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -88,6 +91,11 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 	private final WorldCoord max;
 	private final int[] usedOps = new int[3];
 	private final Map<ICraftingPatternDetails, TaskProgress> tasks = new HashMap<ICraftingPatternDetails, TaskProgress>();
+	/**
+	 * tasks which may be able to run, all others wait for one of their input items to enter the inventory.
+	 */
+	private final Set<ICraftingPatternDetails> readyTasks = new LinkedHashSet<ICraftingPatternDetails>();
+	private final WaitingTasks<Object, ICraftingPatternDetails> blockedTasks = new WaitingTasks<Object, ICraftingPatternDetails>();
 	// INSTANCE sate
 	private final LinkedList<TileCraftingTile> tiles = new LinkedList<TileCraftingTile>();
 	private final LinkedList<TileCraftingTile> storage = new LinkedList<TileCraftingTile>();
@@ -103,6 +111,10 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 	private IAEItemStack finalOutput;
 	private boolean waiting = false;
 	private IItemList<IAEItemStack> waitingFor = AEApi.instance().storage().createItemList();
+	/**
+	 * outputs of all remaining crafts of the tasks, kept up to date with their progress.
+	 */
+	private IItemList<IAEItemStack> pendingOutputs = AEApi.instance().storage().createItemList();
 	private long availableStorage = 0;
 	private MachineSource machineSrc = null;
 	private int accelerator = 0;
@@ -323,6 +335,7 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 					}
 
 					// 2000
+					this.unblockTasks( what );
 					return this.inventory.injectItems( what, type, src );
 				}
 
@@ -355,6 +368,7 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 					return leftover; // ignore it.
 				}
 
+				this.unblockTasks( insert );
 				this.inventory.injectItems( insert, type, src );
 				this.markDirty();
 
@@ -554,7 +568,7 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 
 		this.isComplete = true;
 		this.myLastLink = null;
-		this.tasks.clear();
+		this.clearTasks();
 
 		final ImmutableSet<IAEItemStack> items = ImmutableSet.copyOf( this.waitingFor );
 
@@ -628,27 +642,28 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 
 	private void executeCrafting( final IEnergyGrid eg, final CraftingGridCache cc )
 	{
-		final Iterator<Entry<ICraftingPatternDetails, TaskProgress>> i = this.tasks.entrySet().iterator();
+		// pushing a pattern can hand items back right away, which unblocks tasks while this pass runs.
+		final ICraftingPatternDetails[] ready = this.readyTasks.toArray( new ICraftingPatternDetails[this.readyTasks.size()] );
 
-		while( i.hasNext() )
+		for( final ICraftingPatternDetails details : ready )
 		{
-			final Entry<ICraftingPatternDetails, TaskProgress> e = i.next();
+			final TaskProgress progress = this.tasks.get( details );
 
-			if( e.getValue().value <= 0 )
+			if( progress == null || progress.value <= 0 )
 			{
-				i.remove();
+				this.tasks.remove( details );
+				this.readyTasks.remove( details );
 				continue;
 			}
 
-			final ICraftingPatternDetails details = e.getKey();
-
+			// a task stays ready while its mediums are busy, they don't tell anyone once they are free again.
 			if( this.canCraft( details, details.getCondensedInputs() ) )
 			{
 				InventoryCrafting ic = null;
 
-				for( final ICraftingMedium m : cc.getMediums( e.getKey() ) )
+				for( final ICraftingMedium m : cc.getMediums( details ) )
 				{
-					if( e.getValue().value <= 0 )
+					if( progress.value <= 0 )
 					{
 						continue;
 					}
@@ -777,8 +792,10 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 							ic = null; // hand off complete!
 							this.markDirty();
 
-							e.getValue().value--;
-							if( e.getValue().value <= 0 )
+							progress.value--;
+							this.addPendingOutputs( details, -1 );
+
+							if( progress.value <= 0 )
 							{
 								continue;
 							}
@@ -804,6 +821,10 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 					}
 				}
 			}
+			else
+			{
+				this.blockTask( details );
+			}
 		}
 	}
 
@@ -903,13 +924,13 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 			}
 			else
 			{
-				this.tasks.clear();
+				this.clearTasks();
 				this.inventory.getItemList().resetStatus();
 			}
 		}
 		catch( final CraftBranchFailure e )
 		{
-			this.tasks.clear();
+			this.clearTasks();
 			this.inventory.getItemList().resetStatus();
 			// AELog.error( e );
 		}
@@ -924,8 +945,11 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 
 		while( i.hasNext() )
 		{
-			if( i.next().getValue().value <= 0 )
+			final Entry<ICraftingPatternDetails, TaskProgress> e = i.next();
+
+			if( e.getValue().value <= 0 )
 			{
+				this.readyTasks.remove( e.getKey() );
 				i.remove();
 			}
 		}
@@ -957,6 +981,11 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 		return this.myName;
 	}
 
+	public WorldCoord getBoundsMin()
+	{
+		return this.min;
+	}
+
 	public boolean isActive()
 	{
 		final TileCraftingTile core = this.getCore();
@@ -1017,14 +1046,9 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 				}
 				break;
 			case PENDING:
-				for( final Entry<ICraftingPatternDetails, TaskProgress> t : this.tasks.entrySet() )
+				for( final IAEItemStack ais : this.pendingOutputs )
 				{
-					for( IAEItemStack ais : t.getKey().getCondensedOutputs() )
-					{
-						ais = ais.copy();
-						ais.setStackSize( ais.getStackSize() * t.getValue().value );
-						list.add( ais );
-					}
+					list.add( ais );
 				}
 				break;
 			case STORAGE:
@@ -1039,14 +1063,9 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 					list.add( ais );
 				}
 
-				for( final Entry<ICraftingPatternDetails, TaskProgress> t : this.tasks.entrySet() )
+				for( final IAEItemStack ais : this.pendingOutputs )
 				{
-					for( IAEItemStack ais : t.getKey().getCondensedOutputs() )
-					{
-						ais = ais.copy();
-						ais.setStackSize( ais.getStackSize() * t.getValue().value );
-						list.add( ais );
-					}
+					list.add( ais );
 				}
 				break;
 		}
@@ -1070,9 +1089,84 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 		if( i == null )
 		{
 			this.tasks.put( details, i = new TaskProgress() );
+			this.readyTasks.add( details );
 		}
 
 		i.value += crafts;
+		this.addPendingOutputs( details, crafts );
+	}
+
+	private void addPendingOutputs( final ICraftingPatternDetails details, final long crafts )
+	{
+		for( final IAEItemStack out : details.getCondensedOutputs() )
+		{
+			final IAEItemStack pending = out.copy();
+			pending.setStackSize( out.getStackSize() * crafts );
+			this.pendingOutputs.add( pending );
+		}
+	}
+
+	/**
+	 * parks a task until one of its input items enters the inventory.
+	 */
+	private void blockTask( final ICraftingPatternDetails details )
+	{
+		this.readyTasks.remove( details );
+
+		for( final IAEItemStack input : details.getCondensedInputs() )
+		{
+			this.blockedTasks.park( details, waitKeys( input ) );
+		}
+	}
+
+	private void unblockTasks( final IAEItemStack what )
+	{
+		for( final ICraftingPatternDetails details : this.blockedTasks.wake( waitKeys( what ) ) )
+		{
+			if( this.tasks.containsKey( details ) )
+			{
+				this.readyTasks.add( details );
+			}
+		}
+	}
+
+	/**
+	 * craftable patterns accept their inputs with any damage or NBT, and any ore dictionary equivalent.
+	 */
+	private static Collection<Object> waitKeys( final IAEItemStack stack )
+	{
+		final Collection<Object> keys = new ArrayList<Object>( 2 );
+		keys.add( stack.getItem() );
+
+		if( stack instanceof AEItemStack )
+		{
+			keys.addAll( ( (AEItemStack) stack ).getOreIds() );
+		}
+
+		return keys;
+	}
+
+	private void clearTasks()
+	{
+		this.tasks.clear();
+		this.readyTasks.clear();
+		this.blockedTasks.clear();
+		this.pendingOutputs = AEApi.instance().storage().createItemList();
+	}
+
+	public int getScheduledTaskCount()
+	{
+		return this.tasks.size();
+	}
+
+	public int getReadyTaskCount()
+	{
+		return this.readyTasks.size();
+	}
+
+	public int getBlockedTaskCount()
+	{
+		return this.tasks.size() - this.readyTasks.size();
 	}
 
 	public IAEItemStack getItemStack( final IAEItemStack what, final CraftingItemList storage2 )
@@ -1088,21 +1182,7 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 				is = this.waitingFor.findPrecise( what );
 				break;
 			case PENDING:
-
-				is = what.copy();
-				is.setStackSize( 0 );
-
-				for( final Entry<ICraftingPatternDetails, TaskProgress> t : this.tasks.entrySet() )
-				{
-					for( final IAEItemStack ais : t.getKey().getCondensedOutputs() )
-					{
-						if( ais.equals( is ) )
-						{
-							is.setStackSize( is.getStackSize() + ais.getStackSize() * t.getValue().value );
-						}
-					}
-				}
-
+				is = this.pendingOutputs.findPrecise( what );
 				break;
 			default:
 			case ALL:
@@ -1221,6 +1301,8 @@ public final class CraftingCPUCluster implements IAECluster, ICraftingCPU
 					final TaskProgress tp = new TaskProgress();
 					tp.value = item.getLong( "craftingProgress" );
 					this.tasks.put( details, tp );
+					this.readyTasks.add( details );
+					this.addPendingOutputs( details, tp.value );
 				}
 			}
 		}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+
+package appeng.me.cluster.implementations;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Tasks parked until one of the keys they wait for shows up.
+ *
+ * A task can wait for several keys, waking it through any of them removes it from all others.
+ */
+class WaitingTasks<K, T>
+{
+
+	private final Map<K, Set<T>> byKey = new HashMap<K, Set<T>>();
+	private final Map<T, Collection<K>> byTask = new HashMap<T, Collection<K>>();
+
+	void park( final T task, final Iterable<? extends K> keys )
+	{
+		Collection<K> parkedUnder = this.byTask.get( task );
+
+		if( parkedUnder == null )
+		{
+			parkedUnder = new ArrayList<K>();
+			this.byTask.put( task, parkedUnder );
+		}
+
+		for( final K key : keys )
+		{
+			Set<T> waiting = this.byKey.get( key );
+
+			if( waiting == null )
+			{
+				waiting = new LinkedHashSet<T>();
+				this.byKey.put( key, waiting );
+			}
+
+			if( waiting.add( task ) )
+			{
+				parkedUnder.add( key );
+			}
+		}
+	}
+
+	Set<T> wake( final Iterable<? extends K> keys )
+	{
+		final Set<T> woken = new LinkedHashSet<T>();
+
+		for( final K key : keys )
+		{
+			final Set<T> waiting = this.byKey.remove( key );
+
+			if( waiting != null )
+			{
+				woken.addAll( waiting );
+			}
+		}
+
+		for( final T task : woken )
+		{
+			for( final K other : this.byTask.remove( task ) )
+			{
+				final Set<T> waiting = this.byKey.get( other );
+
+				if( waiting != null )
+				{
+					waiting.remove( task );
+
+					if( waiting.isEmpty() )
+					{
+						this.byKey.remove( other );
+					}
+				}
+			}
+		}
+
+		return woken;
+	}
+
+	boolean isParked( final T task )
+	{
+		return this.byTask.containsKey( task );
+	}
+
+	void clear()
+	{
+		this.byKey.clear();
+		this.byTask.clear();
+	}
+}
@@ -39,6 +39,7 @@ public class PathSegment
 	private final Set<IPathItem> closed;
 	private boolean isDead;
 	private List<IPathItem> open;
+	private Iterator<IPathItem> layer;
 
 	public PathSegment( final PathGridCache myPGC, final List<IPathItem> open, final Set<IPathItem> semiOpen, final Set<IPathItem> closed )
 	{
@@ -49,64 +50,111 @@ public class PathSegment
 		this.setDead( false );
 	}
 
+	/**
+	 * Expands the whole next layer of the search.
+	 *
+	 * @return true once nothing is left to expand
+	 */
 	public boolean step()
 	{
-		final List<IPathItem> oldOpen = this.open;
-		this.open = new LinkedList<IPathItem>();
+		this.step( Integer.MAX_VALUE );
+		return this.isFinished();
+	}
+
+	/**
+	 * Expands up to limit items of the current layer, a layer which is left unfinished is continued by the next call.
+	 *
+	 * @return the number of expanded items
+	 */
+	public int step( final int limit )
+	{
+		if( this.layer == null )
+		{
+			final List<IPathItem> oldOpen = this.open;
+			this.open = new LinkedList<IPathItem>();
+			this.layer = oldOpen.iterator();
+		}
 
-		for( final IPathItem i : oldOpen )
+		int expanded = 0;
+		while( expanded < limit && this.layer.hasNext() )
 		{
-			for( final IPathItem pi : i.getPossibleOptions() )
+			this.expand( this.layer.next() );
+			expanded++;
+		}
+
+		if( !this.layer.hasNext() )
+		{
+			this.layer = null;
+		}
+
+		return expanded;
+	}
+
+	public boolean isLayerDone()
+	{
+		return this.layer == null;
+	}
+
+	public boolean isFinished()
+	{
+		return this.layer == null && this.open.isEmpty();
+	}
+
+	private void expand( final IPathItem i )
+	{
+		for( final IPathItem pi : i.getPossibleOptions() )
+		{
+			final EnumSet<GridFlags> flags = pi.getFlags();
+
+			if( !this.closed.contains( pi ) )
 			{
-				final EnumSet<GridFlags> flags = pi.getFlags();
+				pi.setControllerRoute( i, true );
 
-				if( !this.closed.contains( pi ) )
+				if( flags.contains( GridFlags.REQUIRE_CHANNEL ) )
 				{
-					pi.setControllerRoute( i, true );
-
-					if( flags.contains( GridFlags.REQUIRE_CHANNEL ) )
+					// close the semi open.
+					if( !this.semiOpen.contains( pi ) )
 					{
-						// close the semi open.
-						if( !this.semiOpen.contains( pi ) )
+						final boolean worked;
+
+						if( flags.contains( GridFlags.COMPRESSED_CHANNEL ) )
+						{
+							worked = this.useDenseChannel( pi );
+						}
+						else
 						{
-							final boolean worked;
+							worked = this.useChannel( pi );
+						}
 
-							if( flags.contains( GridFlags.COMPRESSED_CHANNEL ) )
-							{
-								worked = this.useDenseChannel( pi );
-							}
-							else
-							{
-								worked = this.useChannel( pi );
-							}
+						if( !worked )
+						{
+							this.pgc.setChannelsDenied( this.pgc.getChannelsDenied() + 1 );
+						}
 
-							if( worked && flags.contains( GridFlags.MULTIBLOCK ) )
+						if( worked && flags.contains( GridFlags.MULTIBLOCK ) )
+						{
+							final Iterator<IGridNode> oni = ( (IGridMultiblock) ( (IGridNode) pi ).getGridBlock() ).getMultiblockNodes();
+							while( oni.hasNext() )
 							{
-								final Iterator<IGridNode> oni = ( (IGridMultiblock) ( (IGridNode) pi ).getGridBlock() ).getMultiblockNodes();
-								while( oni.hasNext() )
+								final IGridNode otherNodes = oni.next();
+								if( otherNodes != pi )
 								{
-									final IGridNode otherNodes = oni.next();
-									if( otherNodes != pi )
-									{
-										this.semiOpen.add( (IPathItem) otherNodes );
-									}
+									this.semiOpen.add( (IPathItem) otherNodes );
 								}
 							}
 						}
-						else
-						{
-							pi.incrementChannelCount( 1 ); // give a channel.
-							this.semiOpen.remove( pi );
-						}
 					}
-
-					this.closed.add( pi );
-					this.open.add( pi );
+					else
+					{
+						pi.incrementChannelCount( 1 ); // give a channel.
+						this.semiOpen.remove( pi );
+					}
 				}
+
+				this.closed.add( pi );
+				this.open.add( pi );
 			}
 		}
-
-		return this.open.isEmpty();
 	}
 
 	private boolean useDenseChannel( final IPathItem start )
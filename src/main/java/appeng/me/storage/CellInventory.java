@@ -19,7 +19,11 @@
 package appeng.me.storage;
 
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.Item;
@@ -65,6 +69,9 @@ public class CellInventory implements ICellInventory
 	private short storedItems = 0;
 	private int storedItemCount = 0;
 	private IItemList<IAEItemStack> cellItems;
+	private final List<IAEItemStack> slotItems = new ArrayList<IAEItemStack>();
+	private final Map<IAEItemStack, Integer> itemSlotIndex = new HashMap<IAEItemStack, Integer>();
+	private boolean needsCompaction = false;
 	private ItemStack i;
 	private IStorageCell cellType;
 
@@ -228,7 +235,7 @@ public class CellInventory implements ICellInventory
 		}
 
 		final IAEItemStack l = this.getCellItems().findPrecise( input );
-		if( l != null )
+		if( l != null && l.getStackSize() > 0 )
 		{
 			final long remainingItemSlots = this.getRemainingItemCount();
 			if( remainingItemSlots < 0 )
@@ -244,7 +251,7 @@ public class CellInventory implements ICellInventory
 				{
 					l.setStackSize( l.getStackSize() + remainingItemSlots );
 					this.updateItemCount( remainingItemSlots );
-					this.saveChanges();
+					this.saveItemSlot( l );
 				}
 				return r;
 			}
@@ -254,7 +261,7 @@ public class CellInventory implements ICellInventory
 				{
 					l.setStackSize( l.getStackSize() + input.getStackSize() );
 					this.updateItemCount( input.getStackSize() );
-					this.saveChanges();
+					this.saveItemSlot( l );
 				}
 				return null;
 			}
@@ -274,10 +281,11 @@ public class CellInventory implements ICellInventory
 						final ItemStack toWrite = Platform.cloneItemStack( sharedItemStack );
 						toWrite.stackSize = remainingItemCount;
 
-						this.cellItems.add( AEItemStack.create( toWrite ) );
+						final IAEItemStack written = AEItemStack.create( toWrite );
+						this.cellItems.add( written );
 						this.updateItemCount( toWrite.stackSize );
 
-						this.saveChanges();
+						this.saveItemSlot( this.cellItems.findPrecise( written ) );
 					}
 					return AEItemStack.create( toReturn );
 				}
@@ -286,7 +294,7 @@ public class CellInventory implements ICellInventory
 				{
 					this.updateItemCount( input.getStackSize() );
 					this.cellItems.add( input );
-					this.saveChanges();
+					this.saveItemSlot( this.cellItems.findPrecise( input ) );
 				}
 
 				return null;
@@ -320,7 +328,7 @@ public class CellInventory implements ICellInventory
 				{
 					this.updateItemCount( -l.getStackSize() );
 					l.setStackSize( 0 );
-					this.saveChanges();
+					this.saveItemSlot( l );
 				}
 			}
 			else
@@ -330,7 +338,7 @@ public class CellInventory implements ICellInventory
 				{
 					l.setStackSize( l.getStackSize() - size );
 					this.updateItemCount( -size );
-					this.saveChanges();
+					this.saveItemSlot( l );
 				}
 			}
 		}
@@ -352,19 +360,117 @@ public class CellInventory implements ICellInventory
 	private void updateItemCount( final long delta )
 	{
 		this.storedItemCount += delta;
-		this.tagCompound.setInteger( ITEM_COUNT_TAG, this.storedItemCount );
+
+		if( this.storedItemCount == 0 )
+		{
+			this.tagCompound.removeTag( ITEM_COUNT_TAG );
+		}
+		else
+		{
+			this.tagCompound.setInteger( ITEM_COUNT_TAG, this.storedItemCount );
+		}
+	}
+
+	/**
+	 * Writes a single changed item to the cell NBT, instead of rewriting every slot.
+	 *
+	 * New items are appended as a new slot, emptied slots are filled with the last slot, so the slots stay packed the
+	 * same way {@link #saveChanges()} writes them.
+	 */
+	private void saveItemSlot( final IAEItemStack record )
+	{
+		if( this.needsCompaction )
+		{
+			this.saveChanges();
+			return;
+		}
+
+		final Integer slot = this.itemSlotIndex.get( record );
+
+		if( record.getStackSize() > 0 )
+		{
+			if( slot != null )
+			{
+				this.tagCompound.setInteger( itemSlotCount[slot], (int) record.getStackSize() );
+			}
+			else
+			{
+				final int x = this.slotItems.size();
+				if( x >= itemSlots.length )
+				{
+					this.saveChanges();
+					return;
+				}
+
+				final NBTTagCompound g = new NBTTagCompound();
+				record.writeToNBT( g );
+				this.tagCompound.setTag( itemSlots[x], g );
+				this.tagCompound.setInteger( itemSlotCount[x], (int) record.getStackSize() );
+
+				this.slotItems.add( record );
+				this.itemSlotIndex.put( record, x );
+				this.updateItemTypes();
+			}
+		}
+		else if( slot != null )
+		{
+			final int last = this.slotItems.size() - 1;
+
+			if( slot != last )
+			{
+				final IAEItemStack moved = this.slotItems.get( last );
+				this.tagCompound.setTag( itemSlots[slot], this.tagCompound.getTag( itemSlots[last] ) );
+				this.tagCompound.setInteger( itemSlotCount[slot], this.tagCompound.getInteger( itemSlotCount[last] ) );
+				this.slotItems.set( slot, moved );
+				this.itemSlotIndex.put( moved, slot );
+			}
+
+			this.tagCompound.removeTag( itemSlots[last] );
+			this.tagCompound.removeTag( itemSlotCount[last] );
+			this.slotItems.remove( last );
+			this.itemSlotIndex.remove( record );
+			this.updateItemTypes();
+		}
+
+		if( this.container != null )
+		{
+			this.container.saveChanges( this );
+		}
+	}
+
+	private void updateItemTypes()
+	{
+		this.storedItems = (short) this.slotItems.size();
+
+		if( this.storedItems == 0 )
+		{
+			this.tagCompound.removeTag( ITEM_TYPE_TAG );
+		}
+		else
+		{
+			this.tagCompound.setShort( ITEM_TYPE_TAG, this.storedItems );
+		}
 	}
 
+	/**
+	 * Rewrites every slot of the cell NBT, used when the stored slots can not be patched.
+	 */
 	void saveChanges()
 	{
 		// cellItems.clean();
 		int itemCount = 0;
 
+		this.slotItems.clear();
+		this.itemSlotIndex.clear();
+		this.needsCompaction = false;
+
 		// add new pretty stuff...
 		int x = 0;
 		for( final IAEItemStack v : this.cellItems )
 		{
 			itemCount += v.getStackSize();
+			this.slotItems.add( v );
+			this.itemSlotIndex.put( v, x );
 
 			final NBTBase c = this.tagCompound.getTag( itemSlots[x] );
 			if( c instanceof NBTTagCompound )
@@ -439,6 +545,9 @@ public class CellInventory implements ICellInventory
 		}
 
 		this.cellItems.resetStatus(); // clears totals and stuff.
+		this.slotItems.clear();
+		this.itemSlotIndex.clear();
+		this.needsCompaction = false;
 
 		final int types = (int) this.getStoredItemTypes();
 
@@ -451,9 +560,26 @@ public class CellInventory implements ICellInventory
 
 				if( t.stackSize > 0 )
 				{
-					this.cellItems.add( AEItemStack.create( t ) );
+					final IAEItemStack loaded = AEItemStack.create( t );
+					this.cellItems.add( loaded );
+
+					final IAEItemStack record = this.cellItems.findPrecise( loaded );
+					if( this.itemSlotIndex.containsKey( record ) )
+					{
+						this.needsCompaction = true;
+					}
+					else
+					{
+						this.itemSlotIndex.put( record, x );
+						this.slotItems.add( record );
+					}
+
+					continue;
 				}
 			}
+
+			// the slots no longer line up with the loaded items, the next change rewrites all of them.
+			this.needsCompaction = true;
 		}
 
 		// cellItems.clean();
@@ -19,14 +19,18 @@
 package appeng.me.storage;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map.Entry;
-import java.util.NavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 
+import com.google.common.base.Objects;
+
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 
 import appeng.api.AEApi;
 import appeng.api.config.AccessRestriction;
@@ -40,7 +44,6 @@ import appeng.api.storage.StorageChannel;
 import appeng.api.storage.data.IAEItemStack;
 import appeng.api.storage.data.IItemList;
 import appeng.util.InventoryAdaptor;
-import appeng.util.Platform;
 import appeng.util.inv.ItemSlot;
 
 
@@ -50,14 +53,13 @@ public class MEMonitorIInventory implements IMEMonitor<IAEItemStack>, ITickingMo
 	private final InventoryAdaptor adaptor;
 	private final IItemList<IAEItemStack> list = AEApi.instance().storage().createItemList();
 	private final HashMap<IMEMonitorHandlerReceiver<IAEItemStack>, Object> listeners = new HashMap<IMEMonitorHandlerReceiver<IAEItemStack>, Object>();
-	private final NavigableMap<Integer, CachedItemStack> memory;
+	private CachedItemStack[] memory = new CachedItemStack[0];
 	private BaseActionSource mySource;
 	private StorageFilter mode = StorageFilter.EXTRACTABLE_ONLY;
 
 	public MEMonitorIInventory( final InventoryAdaptor adaptor )
 	{
 		this.adaptor = adaptor;
-		this.memory = new ConcurrentSkipListMap<Integer, CachedItemStack>();
 	}
 
 	@Override
@@ -139,105 +141,107 @@ public class MEMonitorIInventory implements IMEMonitor<IAEItemStack>, ITickingMo
 		return StorageChannel.ITEMS;
 	}
 
+	/**
+	 * Compares every slot against the cached copy of it. Unchanged slots are skipped without allocating, changed slots
+	 * patch the cached list and are posted as differences.
+	 */
 	@Override
 	public TickRateModulation onTick()
 	{
+		List<IAEItemStack> changes = null;
+		int high = -1;
 
-		final LinkedList<IAEItemStack> changes = new LinkedList<IAEItemStack>();
-
-		this.list.resetStatus();
-		int high = 0;
-		boolean changed = false;
 		for( final ItemSlot is : this.adaptor )
 		{
-			final CachedItemStack old = this.memory.get( is.getSlot() );
-			high = Math.max( high, is.getSlot() );
+			final int slot = is.getSlot();
+			high = Math.max( high, slot );
 
 			final ItemStack newIS = !is.isExtractable() && this.getMode() == StorageFilter.EXTRACTABLE_ONLY ? null : is.getItemStack();
-			final ItemStack oldIS = old == null ? null : old.itemStack;
+			final CachedItemStack old = slot < this.memory.length ? this.memory[slot] : null;
 
-			if( this.isDifferent( newIS, oldIS ) )
+			if( old == null ? newIS == null : old.isSame( newIS ) )
 			{
-				final CachedItemStack cis = new CachedItemStack( is.getItemStack() );
-				this.memory.put( is.getSlot(), cis );
-
-				if( old != null && old.aeStack != null )
-				{
-					old.aeStack.setStackSize( -old.aeStack.getStackSize() );
-					changes.add( old.aeStack );
-				}
-
-				if( cis.aeStack != null )
-				{
-					changes.add( cis.aeStack );
-					this.list.add( cis.aeStack );
-				}
-
-				changed = true;
+				continue;
 			}
-			else
-			{
-				final int newSize = ( newIS == null ? 0 : newIS.stackSize );
-				final int diff = newSize - ( oldIS == null ? 0 : oldIS.stackSize );
-
-				final IAEItemStack stack = ( old == null || old.aeStack == null ? AEApi.instance().storage().createItemStack( newIS ) : old.aeStack.copy() );
-				if( stack != null )
-				{
-					stack.setStackSize( newSize );
-					this.list.add( stack );
-				}
-
-				if( diff != 0 && stack != null )
-				{
-					final CachedItemStack cis = new CachedItemStack( is.getItemStack() );
-					this.memory.put( is.getSlot(), cis );
 
-					final IAEItemStack a = stack.copy();
-					a.setStackSize( diff );
-					changes.add( a );
-					changed = true;
-				}
+			if( changes == null )
+			{
+				changes = new ArrayList<IAEItemStack>();
 			}
+
+			this.updateSlot( slot, old, newIS, changes );
 		}
 
 		// detect dropped items; should fix non IISided Inventory Changes.
-		final NavigableMap<Integer, CachedItemStack> end = this.memory.tailMap( high, false );
-		if( !end.isEmpty() )
+		for( int slot = high + 1; slot < this.memory.length; slot++ )
 		{
-			for( final CachedItemStack cis : end.values() )
+			if( this.memory[slot] != null )
 			{
-				if( cis != null && cis.aeStack != null )
+				if( changes == null )
 				{
-					final IAEItemStack a = cis.aeStack.copy();
-					a.setStackSize( -a.getStackSize() );
-					changes.add( a );
-					changed = true;
+					changes = new ArrayList<IAEItemStack>();
 				}
+
+				this.updateSlot( slot, this.memory[slot], null, changes );
 			}
-			end.clear();
 		}
 
-		if( !changes.isEmpty() )
+		if( changes != null )
 		{
-			this.postDifference( changes );
+			if( !changes.isEmpty() )
+			{
+				this.postDifference( changes );
+			}
+
+			return TickRateModulation.URGENT;
 		}
 
-		return changed ? TickRateModulation.URGENT : TickRateModulation.SLOWER;
+		return TickRateModulation.SLOWER;
 	}
 
-	private boolean isDifferent( final ItemStack a, final ItemStack b )
+	private void updateSlot( final int slot, final CachedItemStack old, final ItemStack newIS, final List<IAEItemStack> changes )
 	{
-		if( a == b && b == null )
+		if( old != null && newIS != null && old.isSameItem( newIS ) )
+		{
+			// only the amount changed.
+			final long diff = newIS.stackSize - old.aeStack.getStackSize();
+			old.aeStack.setStackSize( newIS.stackSize );
+			this.addChange( old.aeStack, diff, changes );
+			return;
+		}
+
+		final CachedItemStack cis = newIS == null ? null : new CachedItemStack( newIS );
+
+		if( slot >= this.memory.length )
+		{
+			this.memory = Arrays.copyOf( this.memory, slot + 1 );
+		}
+
+		this.memory[slot] = cis;
+
+		if( old != null )
 		{
-			return false;
+			this.addChange( old.aeStack, -old.aeStack.getStackSize(), changes );
 		}
 
-		if( ( a == null && b != null ) || ( a != null && b == null ) )
+		if( cis != null )
 		{
-			return true;
+			this.addChange( cis.aeStack, cis.aeStack.getStackSize(), changes );
 		}
+	}
+
+	private void addChange( final IAEItemStack what, final long amount, final List<IAEItemStack> changes )
+	{
+		if( what == null || amount == 0 )
+		{
+			return;
+		}
+
+		final IAEItemStack change = what.copy();
+		change.setStackSize( amount );
 
-		return !Platform.isSameItemPrecise( a, b );
+		this.list.add( change );
+		changes.add( change );
 	}
 
 	private void postDifference( final Iterable<IAEItemStack> a )
@@ -301,9 +305,12 @@ public class MEMonitorIInventory implements IMEMonitor<IAEItemStack>, ITickingMo
 	@Override
 	public IItemList<IAEItemStack> getAvailableItems( final IItemList out )
 	{
-		for( final CachedItemStack is : this.memory.values() )
+		for( final CachedItemStack is : this.memory )
 		{
-			out.addStorage( is.aeStack );
+			if( is != null )
+			{
+				out.addStorage( is.aeStack );
+			}
 		}
 
 		return out;
@@ -339,21 +346,27 @@ public class MEMonitorIInventory implements IMEMonitor<IAEItemStack>, ITickingMo
 	private static class CachedItemStack
 	{
 
-		private final ItemStack itemStack;
+		private final Item item;
+		private final int damage;
+		private final NBTTagCompound tag;
 		private final IAEItemStack aeStack;
 
 		public CachedItemStack( final ItemStack is )
 		{
-			if( is == null )
-			{
-				this.itemStack = null;
-				this.aeStack = null;
-			}
-			else
-			{
-				this.itemStack = is.copy();
-				this.aeStack = AEApi.instance().storage().createItemStack( is );
-			}
+			this.item = is.getItem();
+			this.damage = is.getItemDamage();
+			this.tag = is.hasTagCompound() ? is.getTagCompound().copy() : null;
+			this.aeStack = AEApi.instance().storage().createItemStack( is );
+		}
+
+		private boolean isSameItem( final ItemStack is )
+		{
+			return is != null && is.getItem() == this.item && is.getItemDamage() == this.damage && Objects.equal( is.getTagCompound(), this.tag );
+		}
+
+		private boolean isSame( final ItemStack is )
+		{
+			return this.isSameItem( is ) && ( this.aeStack == null || this.aeStack.getStackSize() == is.stackSize );
 		}
 	}
 }
@@ -21,14 +21,17 @@ package appeng.me.storage;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
 import appeng.api.config.AccessRestriction;
 import appeng.api.config.Actionable;
+import appeng.api.config.IncludeExclude;
 import appeng.api.config.SecurityPermissions;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
@@ -36,12 +39,15 @@ import appeng.api.networking.security.BaseActionSource;
 import appeng.api.networking.security.ISecurityGrid;
 import appeng.api.networking.security.MachineSource;
 import appeng.api.networking.security.PlayerSource;
+import appeng.api.storage.IMEInventory;
 import appeng.api.storage.IMEInventoryHandler;
 import appeng.api.storage.StorageChannel;
 import appeng.api.storage.data.IAEStack;
 import appeng.api.storage.data.IItemList;
 import appeng.me.cache.SecurityCache;
 import appeng.util.ItemSorters;
+import appeng.util.prioitylist.IPartitionList;
+import appeng.util.prioitylist.PrecisePriorityList;
 
 
 public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInventoryHandler<T>
@@ -55,13 +61,20 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 	private final StorageChannel myChannel;
 	private final SecurityCache security;
 	private final NavigableMap<Integer, List<IMEInventoryHandler<T>>> priorityInventory;
+	private final Map<Integer, InjectionRoutes<T>> injectionRoutes;
 	private int myPass = 0;
 
+	private long injectOperations = 0;
+	private long injectVisits = 0;
+	private long extractOperations = 0;
+	private long extractVisits = 0;
+
 	public NetworkInventoryHandler( final StorageChannel chan, final SecurityCache security )
 	{
 		this.myChannel = chan;
 		this.security = security;
 		this.priorityInventory = new TreeMap<>( PRIORITY_SORTER );
+		this.injectionRoutes = new HashMap<>();
 	}
 
 	public void addNewStorage( final IMEInventoryHandler<T> h )
@@ -71,11 +84,39 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 		if( list == null )
 		{
 			this.priorityInventory.put( priority, list = new ArrayList<>() );
+			this.injectionRoutes.put( priority, new InjectionRoutes<>() );
 		}
 
+		this.injectionRoutes.get( priority ).add( list.size(), h, getPartitionedItems( h ) );
 		list.add( h );
 	}
 
+	/**
+	 * Finds a precise whitelist anywhere in the chain of wrapping handlers, such a handler rejects every item that is
+	 * not listed.
+	 *
+	 * @return the only items the handler can accept, or null if it might accept anything.
+	 */
+	private static <T extends IAEStack<T>> Iterable<T> getPartitionedItems( final IMEInventoryHandler<T> h )
+	{
+		IMEInventory<T> current = h;
+
+		while( current instanceof MEInventoryHandler )
+		{
+			final MEInventoryHandler<T> handler = (MEInventoryHandler<T>) current;
+			final IPartitionList<T> partition = handler.getPartitionList();
+
+			if( handler.getWhitelist() == IncludeExclude.WHITELIST && partition instanceof PrecisePriorityList && !partition.isEmpty() )
+			{
+				return partition.getItems();
+			}
+
+			current = handler.getInternal();
+		}
+
+		return null;
+	}
+
 	@Override
 	public T injectItems( T input, final Actionable type, final BaseActionSource src )
 	{
@@ -90,12 +131,17 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 			return input;
 		}
 
-		for( final List<IMEInventoryHandler<T>> invList : this.priorityInventory.values() )
+		this.injectOperations++;
+
+		for( final Integer priority : this.priorityInventory.keySet() )
 		{
+			final List<IMEInventoryHandler<T>> invList = this.injectionRoutes.get( priority ).getCandidates( input );
+
 			Iterator<IMEInventoryHandler<T>> ii = invList.iterator();
 			while( ii.hasNext() && input != null )
 			{
 				final IMEInventoryHandler<T> inv = ii.next();
+				this.injectVisits++;
 
 				if( inv.validForPass( 1 ) && inv.canAccept( input ) && ( inv.isPrioritized( input ) || inv.extractItems( input, Actionable.SIMULATE, src ) != null ) )
 				{
@@ -111,6 +157,7 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 			while( ii.hasNext() && input != null )
 			{
 				final IMEInventoryHandler<T> inv = ii.next();
+				this.injectVisits++;
 
 				if( inv.validForPass( 2 ) && inv.canAccept( input ) && !inv.isPrioritized( input ) )
 				{
@@ -211,6 +258,8 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 
 		final Iterator<List<IMEInventoryHandler<T>>> i = this.priorityInventory.descendingMap().values().iterator();// priorityInventory.asMap().descendingMap().entrySet().iterator();
 
+		this.extractOperations++;
+
 		final T output = request.copy();
 		request = request.copy();
 		output.setStackSize( 0 );
@@ -224,6 +273,7 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 			while( ii.hasNext() && output.getStackSize() < req )
 			{
 				final IMEInventoryHandler<T> inv = ii.next();
+				this.extractVisits++;
 
 				request.setStackSize( req - output.getStackSize() );
 				output.add( inv.extractItems( request, mode, src ) );
@@ -286,6 +336,22 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 		return false;
 	}
 
+	/**
+	 * @return average number of handlers visited per inject operation since this handler was built.
+	 */
+	public double getAverageInjectVisits()
+	{
+		return this.injectOperations == 0 ? 0 : (double) this.injectVisits / this.injectOperations;
+	}
+
+	/**
+	 * @return average number of handlers visited per extract operation since this handler was built.
+	 */
+	public double getAverageExtractVisits()
+	{
+		return this.extractOperations == 0 ? 0 : (double) this.extractVisits / this.extractOperations;
+	}
+
 	@Override
 	public StorageChannel getChannel()
 	{
@@ -327,4 +393,77 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMEInvent
 	{
 		return true;
 	}
+
+	/**
+	 * Routes injections within one priority, handlers restricted to a precise whitelist are only visited for the items
+	 * they list. The original order of the handlers is kept.
+	 */
+	private static final class InjectionRoutes<T extends IAEStack<T>>
+	{
+
+		private final List<IMEInventoryHandler<T>> unrestricted = new ArrayList<>();
+		private final List<Integer> unrestrictedOrder = new ArrayList<>();
+		private final Map<T, List<IMEInventoryHandler<T>>> restricted = new HashMap<>();
+		private final Map<T, List<Integer>> restrictedOrder = new HashMap<>();
+
+		private void add( final int order, final IMEInventoryHandler<T> h, final Iterable<T> partitionedItems )
+		{
+			if( partitionedItems == null )
+			{
+				this.unrestricted.add( h );
+				this.unrestrictedOrder.add( order );
+				return;
+			}
+
+			for( final T item : partitionedItems )
+			{
+				List<IMEInventoryHandler<T>> handlers = this.restricted.get( item );
+				if( handlers == null )
+				{
+					this.restricted.put( item, handlers = new ArrayList<>() );
+					this.restrictedOrder.put( item, new ArrayList<>() );
+				}
+
+				if( handlers.isEmpty() || handlers.get( handlers.size() - 1 ) != h )
+				{
+					handlers.add( h );
+					this.restrictedOrder.get( item ).add( order );
+				}
+			}
+		}
+
+		private List<IMEInventoryHandler<T>> getCandidates( final T input )
+		{
+			final List<IMEInventoryHandler<T>> handlers = input == null ? null : this.restricted.get( input );
+
+			if( handlers == null )
+			{
+				return this.unrestricted;
+			}
+
+			if( this.unrestricted.isEmpty() )
+			{
+				return handlers;
+			}
+
+			final List<Integer> order = this.restrictedOrder.get( input );
+			final List<IMEInventoryHandler<T>> out = new ArrayList<>( handlers.size() + this.unrestricted.size() );
+
+			int u = 0;
+			int r = 0;
+			while( u < this.unrestricted.size() || r < handlers.size() )
+			{
+				if( r >= handlers.size() || ( u < this.unrestricted.size() && this.unrestrictedOrder.get( u ) < order.get( r ) ) )
+				{
+					out.add( this.unrestricted.get( u++ ) );
+				}
+				else
+				{
+					out.add( handlers.get( r++ ) );
+				}
+			}
+
+			return out;
+		}
+	}
 }
@@ -47,6 +47,7 @@ import appeng.api.util.AECableType;
 import appeng.api.util.AEColor;
 import appeng.api.util.AEPartLocation;
 import appeng.api.util.IReadOnlyCollection;
+import appeng.hooks.TickHandler;
 import appeng.items.parts.ItemPart;
 import appeng.me.GridAccessException;
 import appeng.parts.AEBasePart;
@@ -175,6 +176,15 @@ public class PartCable extends AEBasePart implements IPartCable
 		this.getHost().markForUpdate();
 	}
 
+	/**
+	 * Sends only the connections, power and channels of this cable to the clients. Batched per chunk and sent at the
+	 * end of the tick, for changes which don't require a full update of the cable bus.
+	 */
+	protected void markChannelsForUpdate()
+	{
+		TickHandler.INSTANCE.addCableUpdate( this );
+	}
+
 	@Override
 	public void getBoxes( final IPartCollisionHelper bch )
 	{
@@ -338,9 +348,16 @@ public class PartCable extends AEBasePart implements IPartCable
 	@Override
 	public boolean readFromStream( final ByteBuf data ) throws IOException
 	{
-		final int cs = data.readByte();
-		final int sideOut = data.readInt();
+		return this.setChannelState( data.readByte(), data.readInt() );
+	}
 
+	/**
+	 * Applies the connections, power and channels written by {@link #writeToStream(ByteBuf)}.
+	 *
+	 * @return true if the cable has to be rendered again
+	 */
+	public boolean setChannelState( final int cs, final int sideOut )
+	{
 		final EnumSet<AEPartLocation> myC = this.getConnections().clone();
 		final boolean wasPowered = this.powered;
 		this.powered = false;
@@ -43,13 +43,13 @@ public class PartCableCovered extends PartCable
 	@MENetworkEventSubscribe
 	public void channelUpdated( final MENetworkChannelsChanged c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@MENetworkEventSubscribe
 	public void powerRender( final MENetworkPowerStatusChange c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@Override
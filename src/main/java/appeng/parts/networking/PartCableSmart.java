@@ -46,13 +46,13 @@ public class PartCableSmart extends PartCable
 	@MENetworkEventSubscribe
 	public void channelUpdated( final MENetworkChannelsChanged c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@MENetworkEventSubscribe
 	public void powerRender( final MENetworkPowerStatusChange c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@Override
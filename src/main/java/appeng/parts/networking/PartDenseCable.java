@@ -163,13 +163,13 @@ public class PartDenseCable extends PartCable
 	@MENetworkEventSubscribe
 	public void channelUpdated( final MENetworkChannelsChanged c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@MENetworkEventSubscribe
 	public void powerRender( final MENetworkPowerStatusChange c )
 	{
-		this.getHost().markForUpdate();
+		this.markChannelsForUpdate();
 	}
 
 	@Override
@@ -21,11 +21,12 @@ package appeng.server;
 
 import appeng.server.subcommands.ChunkLogger;
 import appeng.server.subcommands.Supporters;
+import appeng.server.subcommands.TickMonitor;
 
 
 public enum Commands
 {
-	Chunklogger( 4, new ChunkLogger() ), Supporters( 0, new Supporters() );
+	Chunklogger( 4, new ChunkLogger() ), Supporters( 0, new Supporters() ), TickMonitor( 4, new TickMonitor() );
 
 	public final int level;
 	public final ISubCommand command;
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+
+package appeng.server.subcommands;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import appeng.api.networking.ticking.ITickManager;
+import appeng.api.util.DimensionalCoord;
+import appeng.hooks.TickHandler;
+import appeng.me.Grid;
+import appeng.me.cache.TickManagerCache;
+import appeng.me.cache.helpers.TickTracker;
+import appeng.server.ISubCommand;
+import appeng.util.ItemSorters;
+
+
+public class TickMonitor implements ISubCommand
+{
+
+	private static final int DEFAULT_ENTRIES = 10;
+
+	@Override
+	public String getHelp( final MinecraftServer srv )
+	{
+		return "commands.ae2.TickMonitor";
+	}
+
+	@Override
+	public void call( final MinecraftServer srv, final String[] data, final ICommandSender sender )
+	{
+		int entries = DEFAULT_ENTRIES;
+		if( data.length > 1 )
+		{
+			try
+			{
+				entries = Math.max( 1, Integer.parseInt( data[1] ) );
+			}
+			catch( final NumberFormatException e )
+			{
+				entries = DEFAULT_ENTRIES;
+			}
+		}
+
+		final List<TickTracker> trackers = new ArrayList<TickTracker>();
+		for( final Grid g : TickHandler.INSTANCE.getGridList() )
+		{
+			final TickManagerCache tmc = g.getCache( ITickManager.class );
+			for( final TickTracker tt : tmc.getTickTrackers() )
+			{
+				trackers.add( tt );
+			}
+		}
+
+		Collections.sort( trackers, ( a, b ) -> ItemSorters.compareLong( b.getAvgNanos(), a.getAvgNanos() ) );
+
+		sender.addChatMessage( new TextComponentTranslation( "commands.ae2.TickMonitorHeader", Math.min( entries, trackers.size() ), trackers.size() ) );
+
+		for( final TickTracker tt : trackers.subList( 0, Math.min( entries, trackers.size() ) ) )
+		{
+			final DimensionalCoord dc = tt.getNode().getGridBlock().getLocation();
+			final String location = dc == null ? "?" : dc.toString();
+			sender.addChatMessage( new TextComponentString( tt.getAvgNanos() + "ns - " + tt.getGridTickable().getClass().getSimpleName() + " @ " + location ) );
+		}
+	}
+}
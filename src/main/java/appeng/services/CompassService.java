@@ -58,49 +58,33 @@ public final class CompassService
 	 */
 	private final File worldCompassFolder;
 
-	private int jobSize;
-
 	public CompassService( @Nonnull final File worldCompassFolder, @Nonnull final ThreadFactory factory )
 	{
 		Preconditions.checkNotNull( worldCompassFolder );
 
 		this.worldCompassFolder = worldCompassFolder;
 		this.executor = Executors.newSingleThreadExecutor( factory );
-		this.jobSize = 0;
 	}
 
 	public Future<?> getCompassDirection( final DimensionalCoord coord, final int maxRange, final ICompassCallback cc )
 	{
-		this.jobSize++;
 		return this.executor.submit( new CMDirectionRequest( coord, maxRange, cc ) );
 	}
 
 	/**
 	 * Ensure the a compass service is removed once a world gets unloaded by forge.
 	 *
+	 * The readers keep their regions open between jobs, so they are closed on the worker thread after the pending
+	 * jobs of the world are done.
+	 *
 	 * @param event the event containing the unloaded world.
 	 */
 	@SubscribeEvent
 	public void unloadWorld( final WorldEvent.Unload event )
 	{
-		if( Platform.isServer() && this.worldSet.containsKey( event.getWorld() ) )
-		{
-			final CompassReader compassReader = this.worldSet.remove( event.getWorld() );
-
-			compassReader.close();
-		}
-	}
-
-	private int jobSize()
-	{
-		return this.jobSize;
-	}
-
-	private void cleanUp()
-	{
-		for( final CompassReader cr : this.worldSet.values() )
+		if( Platform.isServer() )
 		{
-			cr.close();
+			this.executor.submit( new CMUnloadWorld( event.getWorld() ) );
 		}
 	}
 
@@ -122,8 +106,6 @@ public final class CompassService
 
 	public Future<?> updateArea( final World w, final int x, final int y, final int z )
 	{
-		this.jobSize++;
-
 		final int cx = x >> 4;
 		final int cdy = y >> 5;
 		final int cz = z >> 4;
@@ -164,7 +146,6 @@ public final class CompassService
 		try
 		{
 			this.executor.awaitTermination( 6, TimeUnit.MINUTES );
-			this.jobSize = 0;
 
 			for( final CompassReader cr : this.worldSet.values() )
 			{
@@ -230,14 +211,29 @@ public final class CompassService
 		@Override
 		public void run()
 		{
-			CompassService.this.jobSize--;
-
 			final CompassReader cr = CompassService.this.getReader( this.world );
 			cr.setHasBeacon( this.chunkX, this.chunkZ, this.doubleChunkY, this.value );
+		}
+	}
+
+	private class CMUnloadWorld implements Runnable
+	{
 
-			if( CompassService.this.jobSize() < 2 )
+		public final World world;
+
+		public CMUnloadWorld( final World w )
+		{
+			this.world = w;
+		}
+
+		@Override
+		public void run()
+		{
+			final CompassReader cr = CompassService.this.worldSet.remove( this.world );
+
+			if( cr != null )
 			{
-				CompassService.this.cleanUp();
+				cr.close();
 			}
 		}
 	}
@@ -259,8 +255,6 @@ public final class CompassService
 		@Override
 		public void run()
 		{
-			CompassService.this.jobSize--;
-
 			final int cx = this.coord.x >> 4;
 			final int cz = this.coord.z >> 4;
 
@@ -270,97 +264,19 @@ public final class CompassService
 			if( cr.hasBeacon( cx, cz ) )
 			{
 				this.callback.calculatedDirection( true, true, -999, 0 );
-
-				if( CompassService.this.jobSize() < 2 )
-				{
-					CompassService.this.cleanUp();
-				}
-
 				return;
 			}
 
-			// spiral outward...
-			for( int offset = 1; offset < this.maxRange; offset++ )
-			{
-				final int minX = cx - offset;
-				final int minZ = cz - offset;
-				final int maxX = cx + offset;
-				final int maxZ = cz + offset;
-
-				int closest = Integer.MAX_VALUE;
-				int chosen_x = cx;
-				int chosen_z = cz;
+			final int[] closest = cr.findClosestBeacon( cx, cz, this.maxRange );
 
-				for( int z = minZ; z <= maxZ; z++ )
-				{
-					if( cr.hasBeacon( minX, z ) )
-					{
-						final int closeness = CompassService.this.dist( cx, cz, minX, z );
-						if( closeness < closest )
-						{
-							closest = closeness;
-							chosen_x = minX;
-							chosen_z = z;
-						}
-					}
-
-					if( cr.hasBeacon( maxX, z ) )
-					{
-						final int closeness = CompassService.this.dist( cx, cz, maxX, z );
-						if( closeness < closest )
-						{
-							closest = closeness;
-							chosen_x = maxX;
-							chosen_z = z;
-						}
-					}
-				}
-
-				for( int x = minX + 1; x < maxX; x++ )
-				{
-					if( cr.hasBeacon( x, minZ ) )
-					{
-						final int closeness = CompassService.this.dist( cx, cz, x, minZ );
-						if( closeness < closest )
-						{
-							closest = closeness;
-							chosen_x = x;
-							chosen_z = minZ;
-						}
-					}
-
-					if( cr.hasBeacon( x, maxZ ) )
-					{
-						final int closeness = CompassService.this.dist( cx, cz, x, maxZ );
-						if( closeness < closest )
-						{
-							closest = closeness;
-							chosen_x = x;
-							chosen_z = maxZ;
-						}
-					}
-				}
-
-				if( closest < Integer.MAX_VALUE )
-				{
-					this.callback.calculatedDirection( true, false, CompassService.this.rad( cx, cz, chosen_x, chosen_z ), CompassService.this.dist( cx, cz, chosen_x, chosen_z ) );
-
-					if( CompassService.this.jobSize() < 2 )
-					{
-						CompassService.this.cleanUp();
-					}
-
-					return;
-				}
+			if( closest != null )
+			{
+				this.callback.calculatedDirection( true, false, CompassService.this.rad( cx, cz, closest[0], closest[1] ), CompassService.this.dist( cx, cz, closest[0], closest[1] ) );
+				return;
 			}
 
 			// didn't find shit...
 			this.callback.calculatedDirection( false, true, -999, 999 );
-
-			if( CompassService.this.jobSize() < 2 )
-			{
-				CompassService.this.cleanUp();
-			}
 		}
 	}
 }
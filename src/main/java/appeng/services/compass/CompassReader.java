@@ -20,7 +20,11 @@ package appeng.services.compass;
 
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
@@ -30,7 +34,13 @@ import com.google.common.base.Preconditions;
 
 public final class CompassReader
 {
-	private final Map<Long, CompassRegion> regions = new HashMap<Long, CompassRegion>( 100 );
+	/**
+	 * regions stay mapped between requests, only the least recently used ones are closed.
+	 */
+	private static final int MAX_OPEN_REGIONS = 32;
+	private static final int SECTION_SIZE = 32;
+
+	private final Map<Long, CompassRegion> regions = new LinkedHashMap<Long, CompassRegion>( 16, 0.75f, true );
 	private final int dimensionId;
 	private final File worldCompassFolder;
 
@@ -67,6 +77,103 @@ public final class CompassReader
 		return r.hasBeacon( cx, cz );
 	}
 
+	/**
+	 * Finds the same beacon as searching square rings of growing size around the chunk, and picking the closest one of
+	 * the first ring which contains any. Only the 32x32 chunk sections with beacons are looked at, nearest first.
+	 *
+	 * @param cx chunk x
+	 * @param cz chunk z
+	 * @param maxRange rings up to maxRange - 1 are searched, the chunk itself is not
+	 *
+	 * @return x and z of the chunk or null if there is none in range
+	 */
+	public int[] findClosestBeacon( final int cx, final int cz, final int maxRange )
+	{
+		final int range = maxRange - 1;
+		final List<Section> sections = new ArrayList<Section>();
+
+		for( int sx = Math.floorDiv( cx - range, SECTION_SIZE ); sx <= Math.floorDiv( cx + range, SECTION_SIZE ); sx++ )
+		{
+			for( int sz = Math.floorDiv( cz - range, SECTION_SIZE ); sz <= Math.floorDiv( cz + range, SECTION_SIZE ); sz++ )
+			{
+				final int lowX = sx * SECTION_SIZE;
+				final int lowZ = sz * SECTION_SIZE;
+
+				if( this.getRegion( lowX, lowZ ).hasBeaconInSection( lowX, lowZ ) )
+				{
+					sections.add( new Section( lowX, lowZ, cx, cz ) );
+				}
+			}
+		}
+
+		Collections.sort( sections );
+
+		int bestRing = Integer.MAX_VALUE;
+		int bestDist = Integer.MAX_VALUE;
+		int bestOrder = Integer.MAX_VALUE;
+		int[] best = null;
+
+		for( final Section section : sections )
+		{
+			if( section.ring > bestRing )
+			{
+				break;
+			}
+
+			final int minX = Math.max( section.lowX, cx - range );
+			final int maxX = Math.min( section.lowX + SECTION_SIZE - 1, cx + range );
+			final int minZ = Math.max( section.lowZ, cz - range );
+			final int maxZ = Math.min( section.lowZ + SECTION_SIZE - 1, cz + range );
+
+			for( int x = minX; x <= maxX; x++ )
+			{
+				for( int z = minZ; z <= maxZ; z++ )
+				{
+					final int dx = x - cx;
+					final int dz = z - cz;
+					final int ring = Math.max( Math.abs( dx ), Math.abs( dz ) );
+
+					if( ring == 0 || ring > bestRing || !this.hasBeacon( x, z ) )
+					{
+						continue;
+					}
+
+					final int dist = dx * dx + dz * dz;
+					final int order = getRingOrder( dx, dz, ring );
+
+					if( ring < bestRing || dist < bestDist || ( dist == bestDist && order < bestOrder ) )
+					{
+						bestRing = ring;
+						bestDist = dist;
+						bestOrder = order;
+						best = new int[] { x, z };
+					}
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * The position of a chunk within the walk around its ring, which decides between chunks of the same distance.
+	 * Walks both columns from low to high z first, then both rows between them from low to high x.
+	 */
+	private static int getRingOrder( final int dx, final int dz, final int ring )
+	{
+		if( dx == -ring )
+		{
+			return ( dz + ring ) * 2;
+		}
+
+		if( dx == ring )
+		{
+			return ( dz + ring ) * 2 + 1;
+		}
+
+		return ( 2 * ring + 1 ) * 2 + ( dx + ring - 1 ) * 2 + ( dz == ring ? 1 : 0 );
+	}
+
 	private CompassRegion getRegion( final int cx, final int cz )
 	{
 		long pos = cx >> 10;
@@ -79,8 +186,42 @@ public final class CompassReader
 		{
 			cr = new CompassRegion( cx, cz, this.dimensionId, this.worldCompassFolder );
 			this.regions.put( pos, cr );
+
+			if( this.regions.size() > MAX_OPEN_REGIONS )
+			{
+				final Iterator<CompassRegion> i = this.regions.values().iterator();
+				i.next().close();
+				i.remove();
+			}
 		}
 
 		return cr;
 	}
+
+	private static final class Section implements Comparable<Section>
+	{
+		private final int lowX;
+		private final int lowZ;
+
+		/**
+		 * the smallest ring around the searched chunk touching this section.
+		 */
+		private final int ring;
+
+		private Section( final int lowX, final int lowZ, final int cx, final int cz )
+		{
+			this.lowX = lowX;
+			this.lowZ = lowZ;
+
+			final int dx = Math.max( 0, Math.max( lowX - cx, cx - ( lowX + SECTION_SIZE - 1 ) ) );
+			final int dz = Math.max( 0, Math.max( lowZ - cz, cz - ( lowZ + SECTION_SIZE - 1 ) ) );
+			this.ring = Math.max( dx, dz );
+		}
+
+		@Override
+		public int compareTo( final Section o )
+		{
+			return Integer.compare( this.ring, o.ring );
+		}
+	}
 }
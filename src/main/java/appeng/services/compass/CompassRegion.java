@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 import javax.annotation.Nonnull;
 
@@ -33,6 +34,13 @@ import appeng.core.worlddata.MeteorDataNameEncoder;
 
 public final class CompassRegion
 {
+	private static final int SECTION_BITS = 5;
+	private static final int SECTIONS = 0x400 >> SECTION_BITS;
+
+	/**
+	 * number of chunks with a beacon in each 32x32 chunk section, allows searches to skip empty sections.
+	 */
+	private final int[] sectionCounts = new int[SECTIONS * SECTIONS];
 	private final int lowX;
 	private final int lowZ;
 	private final int world;
@@ -79,6 +87,11 @@ public final class CompassRegion
 		}
 	}
 
+	boolean hasBeaconInSection( final int cx, final int cz )
+	{
+		return this.hasFile && this.sectionCounts[getSection( cx & 0x3FF, cz & 0x3FF )] > 0;
+	}
+
 	boolean hasBeacon( int cx, int cz )
 	{
 		if( this.hasFile )
@@ -120,6 +133,15 @@ public final class CompassRegion
 			if( originalVal != val )
 			{
 				this.write( cx, cz, val );
+
+				if( originalVal == 0 )
+				{
+					this.sectionCounts[getSection( cx, cz )]++;
+				}
+				else if( val == 0 )
+				{
+					this.sectionCounts[getSection( cx, cz )]--;
+				}
 			}
 		}
 	}
@@ -157,6 +179,7 @@ public final class CompassRegion
 				final FileChannel fc = this.raf.getChannel();
 				this.buffer = fc.map( FileChannel.MapMode.READ_WRITE, 0, 0x400 * 0x400 );// fc.size() );
 				this.hasFile = true;
+				this.countSections();
 			}
 			catch( final Throwable t )
 			{
@@ -165,6 +188,27 @@ public final class CompassRegion
 		}
 	}
 
+	private void countSections()
+	{
+		Arrays.fill( this.sectionCounts, 0 );
+
+		for( int cz = 0; cz < 0x400; cz++ )
+		{
+			for( int cx = 0; cx < 0x400; cx++ )
+			{
+				if( this.buffer.get( cx + cz * 0x400 ) != 0 )
+				{
+					this.sectionCounts[getSection( cx, cz )]++;
+				}
+			}
+		}
+	}
+
+	private static int getSection( final int cx, final int cz )
+	{
+		return ( cx >> SECTION_BITS ) + ( cz >> SECTION_BITS ) * SECTIONS;
+	}
+
 	private File getFile()
 	{
 		final String fileName = this.encoder.encode( this.world, this.lowX, this.lowZ );
@@ -22,9 +22,9 @@ package appeng.tile;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -63,12 +63,13 @@ import appeng.util.Platform;
 import appeng.util.SettingsFrom;
 
 
-public class AEBaseTile extends TileEntity implements ITickable, IOrientable, ICommonTile, ICustomNameObject
+public class AEBaseTile extends TileEntity implements IOrientable, ICommonTile, ICustomNameObject
 {
 
 	private static final ThreadLocal<WeakReference<AEBaseTile>> DROP_NO_ITEMS = new ThreadLocal<WeakReference<AEBaseTile>>();
 	private static final Map<Class<? extends AEBaseTile>, Map<TileEventType, List<AETileEventHandler>>> HANDLERS = new HashMap<Class<? extends AEBaseTile>, Map<TileEventType, List<AETileEventHandler>>>();
 	private static final Map<Class<? extends TileEntity>, IStackSrc> ITEM_STACKS = new HashMap<>();
+	private Map<TileEventType, List<AETileEventHandler>> eventToHandlers;
 	private int renderFragment = 0;
 	@Nullable
 	private String customName;
@@ -194,7 +195,9 @@ public class AEBaseTile extends TileEntity implements ITickable, IOrientable, IC
 		return data;
 	}
 
-	@Override
+	/**
+	 * Only called for subclasses which implement {@link ITickable}, all others are kept off the tick list of the world.
+	 */
 	public final void update()
 	{
 		for( final AETileEventHandler h : this.getHandlerListFor( TileEventType.TICK ) )
@@ -388,16 +391,19 @@ public class AEBaseTile extends TileEntity implements ITickable, IOrientable, IC
 	@Nonnull
 	private List<AETileEventHandler> getHandlerListFor( final TileEventType type )
 	{
-		final Map<TileEventType, List<AETileEventHandler>> eventToHandlers = this.getEventToHandlers();
-		final List<AETileEventHandler> handlers = this.getHandlers( eventToHandlers, type );
+		if( this.eventToHandlers == null )
+		{
+			this.eventToHandlers = getEventToHandlers( this.getClass() );
+		}
 
-		return handlers;
+		final List<AETileEventHandler> handlers = this.eventToHandlers.get( type );
+
+		return handlers == null ? Collections.<AETileEventHandler>emptyList() : handlers;
 	}
 
 	@Nonnull
-	private Map<TileEventType, List<AETileEventHandler>> getEventToHandlers()
+	private static synchronized Map<TileEventType, List<AETileEventHandler>> getEventToHandlers( final Class<? extends AEBaseTile> clazz )
 	{
-		final Class<? extends AEBaseTile> clazz = this.getClass();
 		final Map<TileEventType, List<AETileEventHandler>> storedHandlers = HANDLERS.get( clazz );
 
 		if( storedHandlers == null )
@@ -411,10 +417,15 @@ public class AEBaseTile extends TileEntity implements ITickable, IOrientable, IC
 				final TileEvent event = method.getAnnotation( TileEvent.class );
 				if( event != null )
 				{
-					this.addHandler( newStoredHandlers, event.value(), method );
+					addHandler( newStoredHandlers, event.value(), method );
 				}
 			}
 
+			if( newStoredHandlers.containsKey( TileEventType.TICK ) && !ITickable.class.isAssignableFrom( clazz ) )
+			{
+				AELog.warn( "%s has a tick handler but does not implement ITickable, it will never tick.", clazz.getName() );
+			}
+
 			return newStoredHandlers;
 		}
 		else
@@ -423,25 +434,7 @@ public class AEBaseTile extends TileEntity implements ITickable, IOrientable, IC
 		}
 	}
 
-	@Nonnull
-	private List<AETileEventHandler> getHandlers( final Map<TileEventType, List<AETileEventHandler>> eventToHandlers, final TileEventType event )
-	{
-		final List<AETileEventHandler> oldHandlers = eventToHandlers.get( event );
-
-		if( oldHandlers == null )
-		{
-			final List<AETileEventHandler> newHandlers = new LinkedList<AETileEventHandler>();
-			eventToHandlers.put( event, newHandlers );
-
-			return newHandlers;
-		}
-		else
-		{
-			return oldHandlers;
-		}
-	}
-
-	private void addHandler( final Map<TileEventType, List<AETileEventHandler>> handlerSet, final TileEventType value, final Method m )
+	private static void addHandler( final Map<TileEventType, List<AETileEventHandler>> handlerSet, final TileEventType value, final Method m )
 	{
 		List<AETileEventHandler> list = handlerSet.get( value );
 
@@ -451,7 +444,7 @@ public class AEBaseTile extends TileEntity implements ITickable, IOrientable, IC
 			handlerSet.put( value, list );
 		}
 
-		list.add( new AETileEventHandler( m ) );
+		list.add( new AETileEventHandler( m, value ) );
 	}
 
 	@Override
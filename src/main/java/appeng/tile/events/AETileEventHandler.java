@@ -19,7 +19,9 @@
 package appeng.tile.events;
 
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
 import io.netty.buffer.ByteBuf;
@@ -34,29 +36,46 @@ import appeng.tile.AEBaseTile;
 public final class AETileEventHandler
 {
 
-	private final Method method;
+	private final MethodHandle method;
 
-	public AETileEventHandler( final Method method )
-	{
-		this.method = method;
-	}
-
-	// TICK
-	public void tick( final AEBaseTile tile )
+	public AETileEventHandler( final Method method, final TileEventType type )
 	{
+		// bound once per class, so every call is a direct invocation instead of the checks and boxing of Method.invoke.
 		try
 		{
-			this.method.invoke( tile );
+			this.method = MethodHandles.lookup().unreflect( method ).asType( getInvokerType( type ) );
 		}
 		catch( final IllegalAccessException e )
 		{
 			throw new IllegalStateException( e );
 		}
-		catch( final IllegalArgumentException e )
+	}
+
+	private static MethodType getInvokerType( final TileEventType type )
+	{
+		switch( type )
+		{
+			case TICK:
+				return MethodType.methodType( void.class, AEBaseTile.class );
+			case WORLD_NBT_READ:
+			case WORLD_NBT_WRITE:
+				return MethodType.methodType( void.class, AEBaseTile.class, NBTTagCompound.class );
+			case NETWORK_READ:
+				return MethodType.methodType( boolean.class, AEBaseTile.class, ByteBuf.class );
+			case NETWORK_WRITE:
+			default:
+				return MethodType.methodType( void.class, AEBaseTile.class, ByteBuf.class );
+		}
+	}
+
+	// TICK
+	public void tick( final AEBaseTile tile )
+	{
+		try
 		{
-			throw new IllegalStateException( e );
+			this.method.invokeExact( tile );
 		}
-		catch( final InvocationTargetException e )
+		catch( final Throwable e )
 		{
 			throw new IllegalStateException( e );
 		}
@@ -67,17 +86,9 @@ public final class AETileEventHandler
 	{
 		try
 		{
-			this.method.invoke( tile, data );
-		}
-		catch( final IllegalAccessException e )
-		{
-			throw new IllegalStateException( e );
-		}
-		catch( final IllegalArgumentException e )
-		{
-			throw new IllegalStateException( e );
+			this.method.invokeExact( tile, data );
 		}
-		catch( final InvocationTargetException e )
+		catch( final Throwable e )
 		{
 			throw new IllegalStateException( e );
 		}
@@ -88,17 +99,9 @@ public final class AETileEventHandler
 	{
 		try
 		{
-			this.method.invoke( tile, data );
-		}
-		catch( final IllegalAccessException e )
-		{
-			throw new IllegalStateException( e );
+			this.method.invokeExact( tile, data );
 		}
-		catch( final IllegalArgumentException e )
-		{
-			throw new IllegalStateException( e );
-		}
-		catch( final InvocationTargetException e )
+		catch( final Throwable e )
 		{
 			throw new IllegalStateException( e );
 		}
@@ -109,17 +112,9 @@ public final class AETileEventHandler
 	{
 		try
 		{
-			this.method.invoke( tile, data );
-		}
-		catch( final IllegalAccessException e )
-		{
-			throw new IllegalStateException( e );
-		}
-		catch( final IllegalArgumentException e )
-		{
-			throw new IllegalStateException( e );
+			this.method.invokeExact( tile, data );
 		}
-		catch( final InvocationTargetException e )
+		catch( final Throwable e )
 		{
 			throw new IllegalStateException( e );
 		}
@@ -139,17 +134,9 @@ public final class AETileEventHandler
 	{
 		try
 		{
-			return (Boolean) this.method.invoke( tile, data );
-		}
-		catch( final IllegalAccessException e )
-		{
-			throw new IllegalStateException( e );
-		}
-		catch( final IllegalArgumentException e )
-		{
-			throw new IllegalStateException( e );
+			return (boolean) this.method.invokeExact( tile, data );
 		}
-		catch( final InvocationTargetException e )
+		catch( final Throwable e )
 		{
 			throw new IllegalStateException( e );
 		}
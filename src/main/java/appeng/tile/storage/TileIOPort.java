@@ -19,6 +19,7 @@
 package appeng.tile.storage;
 
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.block.Block;
@@ -431,59 +432,64 @@ public class TileIOPort extends AENetworkInvTile implements IUpgradeableHost, IC
 			myList = src.getAvailableItems( src.getChannel().createList() );
 		}
 
-		boolean didStuff;
+		// a single pass over the types present now, moving them changes the list.
+		final List<IAEStack> types = new ArrayList<IAEStack>( myList.size() );
+		for( final IAEStack s : myList )
+		{
+			types.add( s );
+		}
 
-		do
+		for( final IAEStack type : types )
 		{
-			didStuff = false;
+			if( itemsToMove <= 0 )
+			{
+				break;
+			}
 
-			for( final IAEStack s : myList )
+			final long totalStackSize = type.getStackSize();
+			if( totalStackSize > 0 )
 			{
-				final long totalStackSize = s.getStackSize();
-				if( totalStackSize > 0 )
+				final IAEStack s = type.copy();
+				final IAEStack stack = destination.injectItems( s, Actionable.SIMULATE, this.mySrc );
+
+				long possible = 0;
+				if( stack == null )
 				{
-					final IAEStack stack = destination.injectItems( s, Actionable.SIMULATE, this.mySrc );
+					possible = totalStackSize;
+				}
+				else
+				{
+					possible = totalStackSize - stack.getStackSize();
+				}
 
-					long possible = 0;
-					if( stack == null )
-					{
-						possible = totalStackSize;
-					}
-					else
-					{
-						possible = totalStackSize - stack.getStackSize();
-					}
+				if( possible > 0 )
+				{
+					possible = Math.min( possible, itemsToMove );
+					s.setStackSize( possible );
 
-					if( possible > 0 )
+					final IAEStack extracted = src.extractItems( s, Actionable.MODULATE, this.mySrc );
+					if( extracted != null )
 					{
-						possible = Math.min( possible, itemsToMove );
-						s.setStackSize( possible );
+						possible = extracted.getStackSize();
+						final IAEStack failed = Platform.poweredInsert( energy, destination, extracted, this.mySrc );
 
-						final IAEStack extracted = src.extractItems( s, Actionable.MODULATE, this.mySrc );
-						if( extracted != null )
+						if( failed != null )
 						{
-							possible = extracted.getStackSize();
-							final IAEStack failed = Platform.poweredInsert( energy, destination, extracted, this.mySrc );
-
-							if( failed != null )
-							{
-								possible -= failed.getStackSize();
-								src.injectItems( failed, Actionable.MODULATE, this.mySrc );
-							}
-
-							if( possible > 0 )
-							{
-								itemsToMove -= possible;
-								didStuff = true;
-							}
+							possible -= failed.getStackSize();
+							src.injectItems( failed, Actionable.MODULATE, this.mySrc );
+						}
 
+						if( possible <= 0 )
+						{
+							// out of power, or the destination changed its mind.
 							break;
 						}
+
+						itemsToMove -= possible;
 					}
 				}
 			}
 		}
-		while( itemsToMove > 0 && didStuff );
 
 		return itemsToMove;
 	}
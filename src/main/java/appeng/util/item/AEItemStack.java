@@ -25,6 +25,8 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.security.InvalidParameterException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -707,6 +709,12 @@ public final class AEItemStack extends AEStack<IAEItemStack> implements IAEItemS
 		return this.getDefinition().getIsOre() != null;
 	}
 
+	public Collection<Integer> getOreIds()
+	{
+		final OreReference ore = this.getDefinition().getIsOre();
+		return ore == null ? Collections.<Integer>emptyList() : ore.getOres();
+	}
+
 	@Override
 	void writeIdentity( final ByteBuf i ) throws IOException
 	{
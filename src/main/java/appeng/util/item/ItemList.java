@@ -21,11 +21,14 @@ package appeng.util.item;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
+import net.minecraft.item.Item;
 import net.minecraftforge.oredict.OreDictionary;
 
 import appeng.api.config.FuzzyMode;
@@ -33,10 +36,17 @@ import appeng.api.storage.data.IAEItemStack;
 import appeng.api.storage.data.IItemList;
 
 
+/**
+ * Item list backed by a hash table keyed on item, damage and shared NBT identity.
+ *
+ * The sorted per item index needed by fuzzy searches is only built once the first fuzzy search happens and is
+ * maintained from then on.
+ */
 public final class ItemList implements IItemList<IAEItemStack>
 {
 
-	private final NavigableMap<IAEItemStack, IAEItemStack> records = new ConcurrentSkipListMap<IAEItemStack, IAEItemStack>();
+	private final RecordTable<IAEItemStack> records = new RecordTable<IAEItemStack>();
+	private Map<Item, NavigableMap<IAEItemStack, IAEItemStack>> fuzzyIndex;
 
 	@Override
 	public void add( final IAEItemStack option )
@@ -205,7 +215,7 @@ public final class ItemList implements IItemList<IAEItemStack>
 	@Override
 	public Iterator<IAEItemStack> iterator()
 	{
-		return new MeaningfulItemIterator<IAEItemStack>( this.records.values().iterator() );
+		return new MeaningfulItemIterator<IAEItemStack>( new RecordIterator( this.records.iterator() ) );
 	}
 
 	@Override
@@ -219,14 +229,100 @@ public final class ItemList implements IItemList<IAEItemStack>
 
 	private IAEItemStack putItemRecord( final IAEItemStack itemStack )
 	{
-		return this.records.put( itemStack, itemStack );
+		final IAEItemStack old = this.records.put( itemStack );
+
+		if( this.fuzzyIndex != null )
+		{
+			this.indexFuzzy( itemStack );
+		}
+
+		return old;
 	}
 
 	private Collection<IAEItemStack> findFuzzyDamage( final AEItemStack filter, final FuzzyMode fuzzy, final boolean ignoreMeta )
 	{
+		if( this.fuzzyIndex == null )
+		{
+			this.fuzzyIndex = new HashMap<Item, NavigableMap<IAEItemStack, IAEItemStack>>();
+
+			for( final IAEItemStack is : this.records )
+			{
+				this.indexFuzzy( is );
+			}
+		}
+
+		final NavigableMap<IAEItemStack, IAEItemStack> sameItem = this.fuzzyIndex.get( filter.getItem() );
+
+		if( sameItem == null )
+		{
+			return Collections.emptyList();
+		}
+
 		final IAEItemStack low = filter.getLow( fuzzy, ignoreMeta );
 		final IAEItemStack high = filter.getHigh( fuzzy, ignoreMeta );
 
-		return this.records.subMap( low, true, high, true ).descendingMap().values();
+		return sameItem.subMap( low, true, high, true ).descendingMap().values();
+	}
+
+	private void indexFuzzy( final IAEItemStack itemStack )
+	{
+		NavigableMap<IAEItemStack, IAEItemStack> sameItem = this.fuzzyIndex.get( itemStack.getItem() );
+
+		if( sameItem == null )
+		{
+			sameItem = new ConcurrentSkipListMap<IAEItemStack, IAEItemStack>();
+			this.fuzzyIndex.put( itemStack.getItem(), sameItem );
+		}
+
+		sameItem.put( itemStack, itemStack );
+	}
+
+	private void unindexFuzzy( final IAEItemStack itemStack )
+	{
+		final NavigableMap<IAEItemStack, IAEItemStack> sameItem = this.fuzzyIndex.get( itemStack.getItem() );
+
+		if( sameItem != null && sameItem.remove( itemStack ) != null && sameItem.isEmpty() )
+		{
+			this.fuzzyIndex.remove( itemStack.getItem() );
+		}
+	}
+
+	/**
+	 * Keeps the fuzzy index in sync with records removed while iterating.
+	 */
+	private final class RecordIterator implements Iterator<IAEItemStack>
+	{
+
+		private final Iterator<IAEItemStack> parent;
+		private IAEItemStack current;
+
+		private RecordIterator( final Iterator<IAEItemStack> parent )
+		{
+			this.parent = parent;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return this.parent.hasNext();
+		}
+
+		@Override
+		public IAEItemStack next()
+		{
+			this.current = this.parent.next();
+			return this.current;
+		}
+
+		@Override
+		public void remove()
+		{
+			this.parent.remove();
+
+			if( ItemList.this.fuzzyIndex != null )
+			{
+				ItemList.this.unindexFuzzy( this.current );
+			}
+		}
 	}
 }
@@ -19,12 +19,16 @@
 package appeng.util.item;
 
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -32,6 +36,7 @@ import com.google.common.cache.LoadingCache;
 
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.oredict.OreDictionary;
 
 import appeng.api.storage.data.IAEItemStack;
@@ -53,7 +58,10 @@ public class OreHelper
 		}
 	} );
 
-	private final Map<ItemRef, OreReference> references = new HashMap<ItemRef, OreReference>();
+	/**
+	 * The ore index of the current ore dictionary, null after it changed until the next lookup.
+	 */
+	private volatile OreIndex index;
 
 	/**
 	 * Test if the passed {@link ItemStack} is an ore.
@@ -64,51 +72,37 @@ public class OreHelper
 	 */
 	public OreReference isOre( final ItemStack itemStack )
 	{
-		final ItemRef ir = new ItemRef( itemStack );
+		return this.getIndex().isOre( itemStack );
+	}
 
-		if( !this.references.containsKey( ir ) )
-		{
-			final OreReference ref = new OreReference();
-			final Collection<Integer> ores = ref.getOres();
-			final Collection<String> set = ref.getEquivalents();
+	/**
+	 * Every registration changes the ore dictionary, so only drop the index here and rebuild it once it is needed
+	 * again.
+	 */
+	@SubscribeEvent
+	public void onOreDictionaryRegister( final OreDictionary.OreRegisterEvent event )
+	{
+		this.index = null;
+	}
 
-			final Set<String> toAdd = new HashSet<String>();
+	private OreIndex getIndex()
+	{
+		OreIndex current = this.index;
 
-			for( final String ore : OreDictionary.getOreNames() )
+		if( current == null )
+		{
+			synchronized( this )
 			{
-				// skip ore if it is a match already or null.
-				if( ore == null || toAdd.contains( ore ) )
-				{
-					continue;
-				}
+				current = this.index;
 
-				for( final ItemStack oreItem : this.oreDictCache.getUnchecked( ore ) )
+				if( current == null )
 				{
-					if( OreDictionary.itemMatches( oreItem, itemStack, false ) )
-					{
-						toAdd.add( ore );
-						break;
-					}
+					this.index = current = new OreIndex();
 				}
 			}
-
-			for( final String ore : toAdd )
-			{
-				set.add( ore );
-				ores.add( OreDictionary.getOreID( ore ) );
-			}
-
-			if( !set.isEmpty() )
-			{
-				this.references.put( ir, ref );
-			}
-			else
-			{
-				this.references.put( ir, null );
-			}
 		}
 
-		return this.references.get( ir );
+		return current;
 	}
 
 	boolean sameOre( final AEItemStack aeItemStack, final IAEItemStack is )
@@ -193,6 +187,13 @@ public class OreHelper
 			this.hash = this.ref.hashCode() ^ this.damage;
 		}
 
+		ItemRef( final Item item, final int damage )
+		{
+			this.ref = item;
+			this.damage = damage;
+			this.hash = this.ref.hashCode() ^ this.damage;
+		}
+
 		@Override
 		public int hashCode()
 		{
@@ -220,4 +221,109 @@ public class OreHelper
 			return "ItemRef [ref=" + this.ref.getUnlocalizedName() + ", damage=" + this.damage + ", hash=" + this.hash + ']';
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Ore ids of every item and damage value in the ore dictionary, wildcard entries are kept under
+	 * {@link OreDictionary#WILDCARD_VALUE}.
+	 */
+	private static class OreIndex
+	{
+
+		private final Map<ItemRef, List<Integer>> oresByItem = new HashMap<ItemRef, List<Integer>>();
+		private final ConcurrentMap<ItemRef, Optional<OreReference>> references = new ConcurrentHashMap<ItemRef, Optional<OreReference>>();
+
+		OreIndex()
+		{
+			for( final String ore : OreDictionary.getOreNames() )
+			{
+				if( ore == null )
+				{
+					continue;
+				}
+
+				final Integer oreId = OreDictionary.getOreID( ore );
+
+				for( final ItemStack oreItem : OreDictionary.getOres( ore ) )
+				{
+					if( oreItem == null || oreItem.getItem() == null )
+					{
+						continue;
+					}
+
+					final ItemRef key = new ItemRef( oreItem.getItem(), oreItem.getItemDamage() );
+					List<Integer> ores = this.oresByItem.get( key );
+
+					if( ores == null )
+					{
+						ores = new ArrayList<Integer>( 1 );
+						this.oresByItem.put( key, ores );
+					}
+
+					// ores are visited in id order, so a duplicate entry can only be the last one.
+					if( ores.isEmpty() || !ores.get( ores.size() - 1 ).equals( oreId ) )
+					{
+						ores.add( oreId );
+					}
+				}
+			}
+		}
+
+		OreReference isOre( final ItemStack itemStack )
+		{
+			final ItemRef ir = new ItemRef( itemStack );
+			Optional<OreReference> ref = this.references.get( ir );
+
+			if( ref == null )
+			{
+				ref = this.createReference( itemStack );
+
+				final Optional<OreReference> previous = this.references.putIfAbsent( ir, ref );
+
+				if( previous != null )
+				{
+					ref = previous;
+				}
+			}
+
+			return ref.orElse( null );
+		}
+
+		/**
+		 * same matches as {@link OreDictionary#itemMatches(ItemStack, ItemStack, boolean)} against every ore, without
+		 * testing each of them.
+		 */
+		private Optional<OreReference> createReference( final ItemStack itemStack )
+		{
+			final Set<Integer> toAdd = new TreeSet<Integer>();
+			final List<Integer> exact = this.oresByItem.get( new ItemRef( itemStack.getItem(), itemStack.getItemDamage() ) );
+			final List<Integer> wildcard = this.oresByItem.get( new ItemRef( itemStack.getItem(), OreDictionary.WILDCARD_VALUE ) );
+
+			if( exact != null )
+			{
+				toAdd.addAll( exact );
+			}
+
+			if( wildcard != null )
+			{
+				toAdd.addAll( wildcard );
+			}
+
+			if( toAdd.isEmpty() )
+			{
+				return Optional.empty();
+			}
+
+			final OreReference ref = new OreReference();
+			final Collection<Integer> ores = ref.getOres();
+			final Collection<String> set = ref.getEquivalents();
+
+			for( final Integer ore : toAdd )
+			{
+				set.add( OreDictionary.getOreName( ore ) );
+				ores.add( ore );
+			}
+
+			return Optional.of( ref );
+		}
+	}
+}
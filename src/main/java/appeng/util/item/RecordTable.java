@@ -0,0 +1,266 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.util.item;
+
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Open addressing hash table where every record is its own key.
+ *
+ * Uses linear probing with tombstones, so removing a record never moves other records around. This allows iterators
+ * to remove the current record and keep walking the same slot array, even if records are added meanwhile. A resize
+ * swaps the slot array, iterators created before keep walking the old one.
+ *
+ * Not thread safe.
+ */
+final class RecordTable<T> implements Iterable<T>
+{
+
+	private static final Object TOMBSTONE = new Object();
+	private static final int MIN_CAPACITY = 16;
+
+	private Object[] slots = new Object[MIN_CAPACITY];
+	private int size;
+	private int used;
+
+	private static int spread( final int hash )
+	{
+		// murmur3 finalizer, the AE item hash keeps the item id in the upper bits and the damage in the lower ones.
+		int h = hash;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	@SuppressWarnings( "unchecked" )
+	T get( final Object key )
+	{
+		final Object[] table = this.slots;
+		final int mask = table.length - 1;
+		int i = spread( key.hashCode() ) & mask;
+
+		while( true )
+		{
+			final Object current = table[i];
+
+			if( current == null )
+			{
+				return null;
+			}
+
+			if( current != TOMBSTONE && current.equals( key ) )
+			{
+				return (T) current;
+			}
+
+			i = ( i + 1 ) & mask;
+		}
+	}
+
+	/**
+	 * Stores the record, replacing an equal one if present.
+	 *
+	 * @return the replaced record or null
+	 */
+	@SuppressWarnings( "unchecked" )
+	T put( final T record )
+	{
+		final Object[] table = this.slots;
+		final int mask = table.length - 1;
+		int i = spread( record.hashCode() ) & mask;
+		int free = -1;
+
+		while( true )
+		{
+			final Object current = table[i];
+
+			if( current == null )
+			{
+				break;
+			}
+
+			if( current == TOMBSTONE )
+			{
+				if( free < 0 )
+				{
+					free = i;
+				}
+			}
+			else if( current.equals( record ) )
+			{
+				table[i] = record;
+				return (T) current;
+			}
+
+			i = ( i + 1 ) & mask;
+		}
+
+		if( free >= 0 )
+		{
+			table[free] = record;
+		}
+		else
+		{
+			table[i] = record;
+			this.used++;
+		}
+
+		this.size++;
+
+		if( this.used * 4 >= table.length * 3 )
+		{
+			this.rehash();
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings( "unchecked" )
+	T remove( final Object key )
+	{
+		final Object[] table = this.slots;
+		final int mask = table.length - 1;
+		int i = spread( key.hashCode() ) & mask;
+
+		while( true )
+		{
+			final Object current = table[i];
+
+			if( current == null )
+			{
+				return null;
+			}
+
+			if( current != TOMBSTONE && current.equals( key ) )
+			{
+				table[i] = TOMBSTONE;
+				this.size--;
+				return (T) current;
+			}
+
+			i = ( i + 1 ) & mask;
+		}
+	}
+
+	int size()
+	{
+		return this.size;
+	}
+
+	@Override
+	public Iterator<T> iterator()
+	{
+		return new RecordIterator();
+	}
+
+	private void rehash()
+	{
+		int capacity = MIN_CAPACITY;
+		while( capacity * 3 <= this.size * 8 )
+		{
+			capacity <<= 1;
+		}
+
+		final Object[] old = this.slots;
+		final Object[] table = new Object[capacity];
+		final int mask = capacity - 1;
+
+		for( final Object current : old )
+		{
+			if( current != null && current != TOMBSTONE )
+			{
+				int i = spread( current.hashCode() ) & mask;
+				while( table[i] != null )
+				{
+					i = ( i + 1 ) & mask;
+				}
+				table[i] = current;
+			}
+		}
+
+		this.slots = table;
+		this.used = this.size;
+	}
+
+	private final class RecordIterator implements Iterator<T>
+	{
+
+		private final Object[] table = RecordTable.this.slots;
+		private int index = -1;
+		private int last = -1;
+
+		@Override
+		public boolean hasNext()
+		{
+			int i = this.index + 1;
+			while( i < this.table.length && ( this.table[i] == null || this.table[i] == TOMBSTONE ) )
+			{
+				i++;
+			}
+			this.index = i - 1;
+			return i < this.table.length;
+		}
+
+		@Override
+		@SuppressWarnings( "unchecked" )
+		public T next()
+		{
+			if( !this.hasNext() )
+			{
+				throw new NoSuchElementException();
+			}
+
+			this.index++;
+			this.last = this.index;
+			return (T) this.table[this.last];
+		}
+
+		@Override
+		public void remove()
+		{
+			if( this.last < 0 )
+			{
+				throw new IllegalStateException();
+			}
+
+			final Object current = this.table[this.last];
+
+			if( this.table == RecordTable.this.slots )
+			{
+				if( current != TOMBSTONE )
+				{
+					this.table[this.last] = TOMBSTONE;
+					RecordTable.this.size--;
+				}
+			}
+			else
+			{
+				RecordTable.this.remove( current );
+			}
+
+			this.last = -1;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+
+package appeng.me.cache.helpers;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import appeng.api.networking.ticking.TickingRequest;
+
+
+/**
+ * Tests for {@link TickQueue}
+ */
+public final class TickQueueTest
+{
+	private static final TickingRequest REQUEST = new TickingRequest( 1, 100, false, true );
+
+	private static TickTracker tracker( final long lastTick, final int rate )
+	{
+		final TickTracker tt = new TickTracker( REQUEST, null, null, lastTick );
+		tt.setCurrentRate( rate );
+		return tt;
+	}
+
+	@Test
+	public void testPollOrder_shouldPass()
+	{
+		final TickQueue queue = new TickQueue();
+
+		for( int i = 50; i > 0; i-- )
+		{
+			queue.add( tracker( i, i ) );
+		}
+
+		long last = Long.MIN_VALUE;
+		while( !queue.isEmpty() )
+		{
+			final TickTracker tt = queue.poll();
+			assertTrue( tt.getNextTick() >= last );
+			last = tt.getNextTick();
+		}
+
+		assertNull( queue.poll() );
+	}
+
+	@Test
+	public void testAddTwice_shouldPass()
+	{
+		final TickQueue queue = new TickQueue();
+		final TickTracker tt = tracker( 0, 10 );
+
+		queue.add( tt );
+		queue.add( tt );
+
+		assertEquals( 1, queue.size() );
+	}
+
+	@Test
+	public void testRemove_shouldPass()
+	{
+		final TickQueue queue = new TickQueue();
+		final TickTracker a = tracker( 0, 5 );
+		final TickTracker b = tracker( 0, 10 );
+		final TickTracker c = tracker( 0, 15 );
+
+		queue.add( a );
+		queue.add( b );
+		queue.add( c );
+
+		assertTrue( queue.remove( a ) );
+		assertFalse( queue.remove( a ) );
+		assertFalse( queue.contains( a ) );
+		assertSame( b, queue.poll() );
+		assertSame( c, queue.poll() );
+	}
+
+	@Test
+	public void testRescheduleQueued_shouldPass()
+	{
+		final TickQueue queue = new TickQueue();
+		final TickTracker a = tracker( 0, 5 );
+		final TickTracker b = tracker( 0, 10 );
+
+		queue.add( a );
+		queue.add( b );
+
+		b.setCurrentRate( 1 );
+		queue.update( b );
+
+		assertSame( b, queue.poll() );
+		assertSame( a, queue.poll() );
+	}
+}
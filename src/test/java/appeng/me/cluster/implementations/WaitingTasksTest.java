@@ -0,0 +1,79 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+
+package appeng.me.cluster.implementations;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+
+/**
+ * Tests for {@link WaitingTasks}
+ */
+public final class WaitingTasksTest
+{
+	private static final Object INGOT = new Object();
+	private static final Object OTHER_INGOT = new Object();
+	private static final Object DUST = new Object();
+	private static final Integer INGOT_ORE = 5;
+
+	@Test
+	public void testWakeByOreEquivalent_shouldPass()
+	{
+		final WaitingTasks<Object, String> waiting = new WaitingTasks<Object, String>();
+
+		waiting.park( "press", Arrays.asList( INGOT, INGOT_ORE ) );
+
+		assertEquals( Collections.singleton( "press" ), waiting.wake( Arrays.asList( OTHER_INGOT, INGOT_ORE ) ) );
+		assertFalse( waiting.isParked( "press" ) );
+		assertTrue( waiting.wake( Arrays.asList( INGOT ) ).isEmpty() );
+	}
+
+	@Test
+	public void testWakeOtherItem_shouldPass()
+	{
+		final WaitingTasks<Object, String> waiting = new WaitingTasks<Object, String>();
+
+		waiting.park( "press", Arrays.asList( INGOT, INGOT_ORE ) );
+
+		assertTrue( waiting.wake( Arrays.asList( DUST ) ).isEmpty() );
+		assertTrue( waiting.isParked( "press" ) );
+	}
+
+	@Test
+	public void testWakeEveryWaitingTask_shouldPass()
+	{
+		final WaitingTasks<Object, String> waiting = new WaitingTasks<Object, String>();
+
+		waiting.park( "press", Arrays.asList( INGOT ) );
+		waiting.park( "press", Arrays.asList( DUST ) );
+		waiting.park( "furnace", Arrays.asList( DUST ) );
+
+		assertEquals( 2, waiting.wake( Arrays.asList( DUST ) ).size() );
+		assertFalse( waiting.isParked( "press" ) );
+		assertTrue( waiting.wake( Arrays.asList( INGOT ) ).isEmpty() );
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.services.compass;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Tests for {@link CompassReader}
+ */
+public final class CompassReaderTest
+{
+	private static final int MAX_RANGE = 174;
+
+	@Test
+	public void testEmptyWorld_shouldPass() throws IOException
+	{
+		final File folder = Files.createTempDirectory( "compass" ).toFile();
+
+		try
+		{
+			final CompassReader reader = new CompassReader( 0, folder );
+
+			assertNull( reader.findClosestBeacon( 0, 0, MAX_RANGE ) );
+
+			reader.close();
+		}
+		finally
+		{
+			delete( folder );
+		}
+	}
+
+	@Test
+	public void testClosestBeaconMatchesSpiral_shouldPass() throws IOException
+	{
+		final File folder = Files.createTempDirectory( "compass" ).toFile();
+		final Random random = new Random( 42 );
+
+		try
+		{
+			final CompassReader reader = new CompassReader( 0, folder );
+
+			// around the corner of four regions
+			for( int i = 0; i < 300; i++ )
+			{
+				reader.setHasBeacon( random.nextInt( 600 ) - 300, random.nextInt( 600 ) - 300, random.nextInt( 8 ), true );
+			}
+
+			for( int i = 0; i < 200; i++ )
+			{
+				final int cx = random.nextInt( 800 ) - 400;
+				final int cz = random.nextInt( 800 ) - 400;
+				final int range = 1 + random.nextInt( MAX_RANGE );
+
+				assertArrayEquals( spiral( reader, cx, cz, range ), reader.findClosestBeacon( cx, cz, range ) );
+			}
+
+			reader.close();
+		}
+		finally
+		{
+			delete( folder );
+		}
+	}
+
+	@Test
+	public void testRemovedBeaconIsSkipped_shouldPass() throws IOException
+	{
+		final File folder = Files.createTempDirectory( "compass" ).toFile();
+
+		try
+		{
+			final CompassReader reader = new CompassReader( 0, folder );
+
+			reader.setHasBeacon( 3, 3, 0, true );
+			reader.setHasBeacon( 40, 40, 1, true );
+			assertArrayEquals( new int[] { 3, 3 }, reader.findClosestBeacon( 0, 0, MAX_RANGE ) );
+
+			reader.setHasBeacon( 3, 3, 0, false );
+			assertArrayEquals( new int[] { 40, 40 }, reader.findClosestBeacon( 0, 0, MAX_RANGE ) );
+
+			reader.setHasBeacon( 40, 40, 1, false );
+			assertNull( reader.findClosestBeacon( 0, 0, MAX_RANGE ) );
+
+			reader.close();
+		}
+		finally
+		{
+			delete( folder );
+		}
+	}
+
+	/**
+	 * the ring by ring search the compass used before, as reference.
+	 */
+	private static int[] spiral( final CompassReader cr, final int cx, final int cz, final int maxRange )
+	{
+		for( int offset = 1; offset < maxRange; offset++ )
+		{
+			final int minX = cx - offset;
+			final int minZ = cz - offset;
+			final int maxX = cx + offset;
+			final int maxZ = cz + offset;
+
+			int closest = Integer.MAX_VALUE;
+			int[] chosen = null;
+
+			for( int z = minZ; z <= maxZ; z++ )
+			{
+				if( cr.hasBeacon( minX, z ) && dist( cx, cz, minX, z ) < closest )
+				{
+					closest = dist( cx, cz, minX, z );
+					chosen = new int[] { minX, z };
+				}
+
+				if( cr.hasBeacon( maxX, z ) && dist( cx, cz, maxX, z ) < closest )
+				{
+					closest = dist( cx, cz, maxX, z );
+					chosen = new int[] { maxX, z };
+				}
+			}
+
+			for( int x = minX + 1; x < maxX; x++ )
+			{
+				if( cr.hasBeacon( x, minZ ) && dist( cx, cz, x, minZ ) < closest )
+				{
+					closest = dist( cx, cz, x, minZ );
+					chosen = new int[] { x, minZ };
+				}
+
+				if( cr.hasBeacon( x, maxZ ) && dist( cx, cz, x, maxZ ) < closest )
+				{
+					closest = dist( cx, cz, x, maxZ );
+					chosen = new int[] { x, maxZ };
+				}
+			}
+
+			if( chosen != null )
+			{
+				return chosen;
+			}
+		}
+
+		return null;
+	}
+
+	private static int dist( final int ax, final int az, final int bx, final int bz )
+	{
+		return ( bx - ax ) * ( bx - ax ) + ( bz - az ) * ( bz - az );
+	}
+
+	private static void delete( final File folder )
+	{
+		final File[] files = folder.listFiles();
+
+		if( files != null )
+		{
+			for( final File file : files )
+			{
+				file.delete();
+			}
+		}
+
+		folder.delete();
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.util.item;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+
+/**
+ * Tests for {@link RecordTable}
+ */
+public final class RecordTableTest
+{
+	private static final int RECORDS = 10000;
+
+	@Test
+	public void testPutAndGet_shouldPass()
+	{
+		final RecordTable<Integer> table = new RecordTable<Integer>();
+
+		for( int i = 0; i < RECORDS; i++ )
+		{
+			assertNull( table.put( i ) );
+		}
+
+		assertEquals( RECORDS, table.size() );
+
+		for( int i = 0; i < RECORDS; i++ )
+		{
+			assertEquals( Integer.valueOf( i ), table.get( i ) );
+		}
+
+		assertNull( table.get( RECORDS ) );
+	}
+
+	@Test
+	public void testPutReplacesEqualRecord_shouldPass()
+	{
+		final RecordTable<String> table = new RecordTable<String>();
+		final String first = new String( "record" );
+		final String second = new String( "record" );
+
+		table.put( first );
+
+		assertSame( first, table.put( second ) );
+		assertSame( second, table.get( "record" ) );
+		assertEquals( 1, table.size() );
+	}
+
+	@Test
+	public void testRemove_shouldPass()
+	{
+		final RecordTable<Integer> table = new RecordTable<Integer>();
+
+		for( int i = 0; i < RECORDS; i++ )
+		{
+			table.put( i );
+		}
+
+		for( int i = 0; i < RECORDS; i += 2 )
+		{
+			assertEquals( Integer.valueOf( i ), table.remove( i ) );
+		}
+
+		assertEquals( RECORDS / 2, table.size() );
+
+		for( int i = 0; i < RECORDS; i++ )
+		{
+			assertEquals( i % 2 == 0 ? null : Integer.valueOf( i ), table.get( i ) );
+		}
+	}
+
+	@Test
+	public void testIteratorRemove_shouldPass()
+	{
+		final RecordTable<Integer> table = new RecordTable<Integer>();
+
+		for( int i = 0; i < RECORDS; i++ )
+		{
+			table.put( i );
+		}
+
+		int seen = 0;
+		final Iterator<Integer> it = table.iterator();
+		while( it.hasNext() )
+		{
+			if( it.next() % 3 == 0 )
+			{
+				it.remove();
+			}
+			seen++;
+		}
+
+		assertEquals( RECORDS, seen );
+		assertEquals( RECORDS - ( RECORDS + 2 ) / 3, table.size() );
+	}
+
+	@Test
+	public void testIteratorSurvivesResize_shouldPass()
+	{
+		final RecordTable<Integer> table = new RecordTable<Integer>();
+
+		for( int i = 0; i < 8; i++ )
+		{
+			table.put( i );
+		}
+
+		final Iterator<Integer> it = table.iterator();
+		for( int i = 8; i < RECORDS; i++ )
+		{
+			table.put( i );
+		}
+
+		int seen = 0;
+		while( it.hasNext() )
+		{
+			it.next();
+			it.remove();
+			seen++;
+		}
+
+		assertTrue( seen >= 8 );
+		assertEquals( RECORDS - seen, table.size() );
+	}
+}